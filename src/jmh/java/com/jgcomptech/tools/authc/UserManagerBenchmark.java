@@ -0,0 +1,52 @@
+package com.jgcomptech.tools.authc;
+
+import com.jgcomptech.tools.databasetools.jdbc.Database;
+import com.jgcomptech.tools.databasetools.jdbc.DatabaseType;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Measures the user lookups of the {@link UserManager} against in-memory databases. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class UserManagerBenchmark {
+    private static final int USER_COUNT = 100;
+
+    @Param({"H2", "HyperSQLDB", "SQLite"})
+    private DatabaseType dbType;
+
+    private Database db;
+    private UserManager userManager;
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        db = new Database(dbType == DatabaseType.SQLite ? ":memory:" : "mem:userbenchmark", dbType);
+        userManager = new UserManager(db);
+        for(var i = 0; i < USER_COUNT; i++) {
+            userManager.createUser("user" + i, "password", UserRoleManager.SystemUserRoles.EDITOR);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException { db.close(); }
+
+    private String nextUsername() { return "user" + (next++ % USER_COUNT); }
+
+    @Benchmark
+    public UserAccount getUser() { return userManager.getUser(nextUsername()); }
+
+    @Benchmark
+    public boolean userExists() { return userManager.userExists(nextUsername()); }
+
+    @Benchmark
+    public UserRole getUserRole() { return userManager.getUserRole(nextUsername()); }
+
+    @Benchmark
+    public List<UserAccount> getUsersPage() { return userManager.getUsersPage(nextUsername(), 10); }
+}
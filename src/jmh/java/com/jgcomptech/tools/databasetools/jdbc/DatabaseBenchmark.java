@@ -0,0 +1,64 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/** Measures statement execution and the settings table against in-memory databases. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class DatabaseBenchmark {
+    private static final int SETTING_COUNT = 1000;
+
+    @Param({"H2", "HyperSQLDB", "SQLite"})
+    private DatabaseType dbType;
+
+    @Param({"false", "true"})
+    private boolean statementStats;
+
+    private Database db;
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        db = new Database(dbType == DatabaseType.SQLite ? ":memory:" : "mem:benchmark", dbType);
+        db.getSettings().createTable();
+        for(var i = 0; i < SETTING_COUNT; i++) db.getSettings().setValue("setting" + i, String.valueOf(i));
+        db.getConnection().getStatementStats().setEnabled(statementStats);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException { db.close(); }
+
+    private String nextName() { return "setting" + (next++ & 511); }
+
+    @Benchmark
+    public void tasksExecuteQuery(final Blackhole blackhole) throws SQLException {
+        try(final var rs = db.getTasks().executeQuery("SELECT Value FROM Settings WHERE Name = 'setting42'")) {
+            while(rs.next()) blackhole.consume(rs.getString(1));
+        }
+    }
+
+    @Benchmark
+    public int tasksExecuteUpdate() throws SQLException {
+        return db.getTasks().executeUpdate("UPDATE Settings SET Value = 'value' WHERE Name = 'setting42'");
+    }
+
+    @Benchmark
+    public String settingsGetValue() throws SQLException { return db.getSettings().getValue(nextName()); }
+
+    @Benchmark
+    public boolean settingsSetValue() throws SQLException {
+        return db.getSettings().setValue(nextName(), "value");
+    }
+
+    @Benchmark
+    public long queryCount() throws SQLException {
+        return TypedStatement.newQuery().SELECT_ALL().FROM("Settings").count(db);
+    }
+}
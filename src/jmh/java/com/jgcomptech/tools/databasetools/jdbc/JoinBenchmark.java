@@ -0,0 +1,81 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import com.jgcomptech.tools.databasetools.jdbc.builders.QueryBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the order totals per customer of one region calculated with a JOIN and GROUP BY in the database
+ * against reading both tables and joining and summing the rows in Java.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class JoinBenchmark {
+    private static final int CUSTOMER_COUNT = 1000;
+    private static final int ORDER_COUNT = 20000;
+    private static final int REGION_COUNT = 10;
+
+    @Param({"H2", "SQLite"})
+    private DatabaseType dbType;
+
+    private Database db;
+    private QueryBuilder joinQuery;
+    private QueryBuilder customerQuery;
+    private QueryBuilder orderQuery;
+
+    @Setup
+    public void setup() throws SQLException {
+        db = new Database(dbType == DatabaseType.SQLite ? ":memory:" : "mem:joinbenchmark", dbType);
+        db.getTasks().executeUpdate("CREATE TABLE Customers (Id INT PRIMARY KEY, Name VARCHAR(50),"
+                + " Region VARCHAR(50))");
+        db.getTasks().executeUpdate("CREATE TABLE Orders (Id INT PRIMARY KEY, CustomerId INT, Amount INT)");
+        db.getTasks().executeUpdate("CREATE INDEX IX_Customers_Region ON Customers (Region)");
+        db.getTasks().executeUpdate("CREATE INDEX IX_Orders_CustomerId ON Orders (CustomerId)");
+        try(final var batch = TypedStatement.newInsert()
+                .INSERT_INTO("Customers", "Id", "Name", "Region").buildBatch(db, 500)) {
+            for(var i = 0; i < CUSTOMER_COUNT; i++) batch.addBatch(i, "customer" + i, "region" + i % REGION_COUNT);
+        }
+        try(final var batch = TypedStatement.newInsert()
+                .INSERT_INTO("Orders", "Id", "CustomerId", "Amount").buildBatch(db, 500)) {
+            for(var i = 0; i < ORDER_COUNT; i++) batch.addBatch(i, i % CUSTOMER_COUNT, i % 100);
+        }
+        joinQuery = TypedStatement.newQuery().useBindParameters().SELECT("c.Name").SUM("o.Amount", "Total")
+                .FROM("Customers c").INNER_JOIN("Orders o", "c.Id", "o.CustomerId")
+                .WHERE("c.Region", "region3").GROUP_BY("c.Name");
+        customerQuery = TypedStatement.newQuery().useBindParameters().SELECT("Id", "Name").FROM("Customers")
+                .WHERE("Region", "region3");
+        orderQuery = TypedStatement.newQuery().SELECT("CustomerId", "Amount").FROM("Orders");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException { db.close(); }
+
+    @Benchmark
+    public Map<String, Long> databaseJoin() throws SQLException {
+        final var totals = new TreeMap<String, Long>();
+        joinQuery.list(db, rs -> totals.put(rs.getString(1), rs.getLong(2)));
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, Long> clientJoin() throws SQLException {
+        final var names = new HashMap<Integer, String>();
+        customerQuery.list(db, rs -> names.put(rs.getInt(1), rs.getString(2)));
+        final var totals = new TreeMap<String, Long>();
+        final List<int[]> orders = orderQuery.list(db, rs -> new int[] {rs.getInt(1), rs.getInt(2)});
+        for(final var order : orders) {
+            final var name = names.get(order[0]);
+            if(name != null) totals.merge(name, (long) order[1], Long::sum);
+        }
+        return totals;
+    }
+}
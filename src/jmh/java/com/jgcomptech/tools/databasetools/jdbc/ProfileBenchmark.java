@@ -0,0 +1,72 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/** Measures the performance profiles against file databases, DEFAULT connects without a profile. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ProfileBenchmark {
+    private static final int SETTING_COUNT = 1000;
+
+    @Param({"H2", "HyperSQLDB", "SQLite"})
+    private DatabaseType dbType;
+
+    @Param({"DEFAULT", "DURABLE", "BALANCED", "THROUGHPUT"})
+    private String profile;
+
+    private Path dir;
+    private Database db;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException, SQLException {
+        dir = Files.createTempDirectory("profilebenchmark");
+        db = new Database(new DatabaseConnectionInfo()
+                .setPath(dir.resolve("benchmark").toString())
+                .setDBType(dbType)
+                .setPerformanceProfile("DEFAULT".equals(profile) ? null : PerformanceProfile.valueOf(profile)));
+        db.getSettings().createTable();
+        try(final var batch = TypedStatement.newInsert()
+                .INSERT_INTO("Settings", "Name", "Value").buildBatch(db, 100)) {
+            for(var i = 0; i < SETTING_COUNT; i++) batch.addBatch("setting" + i, String.valueOf(i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        db.close();
+        try(final var files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private String nextName() { return "setting" + (next++ % SETTING_COUNT); }
+
+    @Benchmark
+    public String settingsGetValue() throws SQLException { return db.getSettings().getValue(nextName()); }
+
+    @Benchmark
+    public boolean settingsSetValue() throws SQLException {
+        return db.getSettings().setValue(nextName(), "value");
+    }
+
+    @Benchmark
+    public int[] batchUpdate() throws SQLException {
+        try(final var batch = TypedStatement.newInsert()
+                .INSERT_INTO("Settings", "Name", "Value").buildBatch(db, 100)) {
+            for(var i = 0; i < 100; i++) batch.addBatch("batch" + next++, "value");
+            return batch.executeBatch();
+        }
+    }
+}
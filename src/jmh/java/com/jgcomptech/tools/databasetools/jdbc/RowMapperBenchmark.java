@@ -0,0 +1,109 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import com.jgcomptech.tools.databasetools.jdbc.builders.QueryBuilder;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping every row of a large scan by column label, by column index and with {@link BeanRowMapper},
+ * {@code beanRowMapperThreads} maps an in-memory result-set per thread with a shared mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class RowMapperBenchmark {
+    private static final int ROW_COUNT = 10000;
+    private static final BeanRowMapper<Row> BEAN_MAPPER = BeanRowMapper.of(Row.class);
+    private static final BeanRowMapper<Row> CONSTRUCTOR_MAPPER = BeanRowMapper.of(Row.class,
+            "Name", "Amount", "Locked", "Created");
+
+    @Param({"H2", "SQLite"})
+    private DatabaseType dbType;
+
+    private Database db;
+    private QueryBuilder query;
+
+    @Setup
+    public void setup() throws SQLException {
+        db = new Database(dbType == DatabaseType.SQLite ? ":memory:" : "mem:mapperbenchmark", dbType);
+        db.getTasks().executeUpdate("CREATE TABLE Rows (Name VARCHAR(50), Amount INT, Locked BOOLEAN,"
+                + " Created TIMESTAMP)");
+        try(final var batch = TypedStatement.newInsert()
+                .INSERT_INTO("Rows", "Name", "Amount", "Locked", "Created").buildBatch(db, 500)) {
+            for(var i = 0; i < ROW_COUNT; i++) {
+                batch.addBatch("row" + i, i, i % 2 == 0, "2018-01-02 03:04:05.000");
+            }
+        }
+        query = TypedStatement.newQuery().SELECT("Name", "Amount", "Locked", "Created").FROM("Rows");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException { db.close(); }
+
+    @Benchmark
+    public List<Row> byLabel() throws SQLException {
+        return query.list(db, rs -> new Row(rs.getString("Name"), rs.getInt("Amount"),
+                rs.getBoolean("Locked"), rs.getTimestamp("Created").toLocalDateTime()));
+    }
+
+    @Benchmark
+    public List<Row> byIndex() throws SQLException {
+        return query.list(db, rs -> new Row(rs.getString(1), rs.getInt(2),
+                rs.getBoolean(3), rs.getTimestamp(4).toLocalDateTime()));
+    }
+
+    @Benchmark
+    public List<Row> beanRowMapper() throws SQLException { return query.list(db, BEAN_MAPPER); }
+
+    @Benchmark
+    public List<Row> constructorRowMapper() throws SQLException { return query.list(db, CONSTRUCTOR_MAPPER); }
+
+    @Benchmark
+    @Threads(4)
+    public void beanRowMapperThreads(final ThreadRows rows, final Blackhole blackhole) throws SQLException {
+        rows.rs.beforeFirst();
+        while(rows.rs.next()) blackhole.consume(BEAN_MAPPER.mapRow(rows.rs));
+    }
+
+    /** The result-set of a single benchmark thread. */
+    @State(Scope.Thread)
+    public static class ThreadRows {
+        private SimpleResultSet rs;
+
+        @Setup
+        public void setup() {
+            rs = new SimpleResultSet();
+            rs.setAutoClose(false);
+            rs.addColumn("Name", Types.VARCHAR, 50, 0);
+            rs.addColumn("Amount", Types.INTEGER, 10, 0);
+            rs.addColumn("Locked", Types.BOOLEAN, 1, 0);
+            for(var i = 0; i < 1000; i++) rs.addRow("row" + i, i, i % 2 == 0);
+        }
+    }
+
+    /** A mapped row. */
+    public static final class Row {
+        private String name;
+        private int amount;
+        private boolean locked;
+        private LocalDateTime created;
+
+        public Row() { }
+
+        public Row(final String name, final int amount, final boolean locked, final LocalDateTime created) {
+            this.name = name;
+            this.amount = amount;
+            this.locked = locked;
+            this.created = created;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.jgcomptech.tools.databasetools.jdbc.builders;
+
+import com.jgcomptech.tools.databasetools.jdbc.TypedStatement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Measures the sql generation of the statement builders, no database is used. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class BuilderBenchmark {
+    @Param({"1", "10", "100"})
+    private int clauseCount;
+
+    private String[] values;
+
+    @Setup
+    public void setup() {
+        values = new String[clauseCount];
+        for(var i = 0; i < clauseCount; i++) values[i] = "value" + i;
+    }
+
+    @Benchmark
+    public String queryWhere() {
+        final var query = TypedStatement.newQuery().SELECT("Name", "Value").FROM("Settings");
+        for(final var value : values) query.WHERE_OR("Name", value);
+        return query.ORDER_BY("Name").LIMIT(10).toString();
+    }
+
+    @Benchmark
+    public String queryWhereIn() {
+        return TypedStatement.newQuery().useBindParameters().SELECT_ALL().FROM("Settings")
+                .WHERE_IN("Name", values).toString();
+    }
+
+    @Benchmark
+    public String insertRows() {
+        final var insert = TypedStatement.newInsert().useBindParameters().INSERT_INTO("Settings", "Name", "Value");
+        for(final var value : values) insert.VALUES(value, value);
+        return insert.toString();
+    }
+
+    @Benchmark
+    public String updateColumns() {
+        final var update = TypedStatement.newUpdate().useBindParameters().UPDATE("Settings");
+        for(final var value : values) update.SET(value, value);
+        return update.WHERE("Name", "value0").toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.jgcomptech.tools.authc;
 
 import com.jgcomptech.tools.SecurityTools;
+import com.jgcomptech.tools.databasetools.jdbc.BeanRowMapper;
 import com.jgcomptech.tools.databasetools.jdbc.DataTypes;
 import com.jgcomptech.tools.databasetools.jdbc.Database;
 import com.jgcomptech.tools.databasetools.jdbc.TableNotFoundException;
@@ -9,9 +10,12 @@ import com.jgcomptech.tools.databasetools.jdbc.builders.ColumnBuilder;
 import com.jgcomptech.tools.databasetools.jdbc.builders.QueryBuilder;
 import org.jetbrains.annotations.Contract;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -30,6 +34,9 @@ public final class UserManager {
     private static final String ACCOUNT_LOCKED_FIELD = "Account_Locked";
     private static final String TABLE_NAME = "Users";
     private static final String INDEX_NAME = "login_index";
+    private static final BeanRowMapper<UserAccount> USER_ACCOUNT_MAPPER = BeanRowMapper.of(UserAccount.class,
+            USERNAME_FIELD, ACCOUNT_CREATION_DATE_FIELD, ACCOUNT_LOCKED_FIELD,
+            PASSWORD_SET_TO_EXPIRE_FIELD, PASSWORD_EXPIRATION_DATE_FIELD);
     private final Database db;
     private SessionManager sessionManager;
     private final UserRoleManager userRoleManager = UserRoleManager.getInstance();
@@ -146,12 +153,13 @@ public final class UserManager {
                     final var salt = SecurityTools.PasswordHashes.createBCryptSaltString(12);
                     final var hashedPassword = SecurityTools.PasswordHashes.createBCryptHash(password, salt);
                     return TypedStatement.newInsert()
+                            .useBindParameters()
                             .INSERT_INTO(TABLE_NAME, USERNAME_FIELD, PASSWORD_FIELD, SALT_FIELD, TYPE_FIELD,
                                     ACCOUNT_CREATION_DATE_FIELD, PASSWORD_SET_TO_EXPIRE_FIELD,
                                     ACCOUNT_LOCKED_FIELD, PASSWORD_EXPIRATION_DATE_FIELD)
                             .VALUES(username.toLowerCase(Locale.ENGLISH), hashedPassword, salt, userRole,
-                                    LocalDateTime.now().toString(), "false", "false",
-                                    LocalDateTime.now().plusYears(1000).toString())
+                                    Timestamp.valueOf(LocalDateTime.now()).toString(), "false", "false",
+                                    Timestamp.valueOf(LocalDateTime.now().plusYears(1000)).toString())
                             .buildAndInsert(db) != 0;
                 }
             } else throw new TableNotFoundException(TABLE_NAME);
@@ -176,6 +184,7 @@ public final class UserManager {
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 return TypedStatement.newDelete()
+                        .useBindParameters()
                         .DELETE_FROM(TABLE_NAME)
                         .WHERE(USERNAME_FIELD, username)
                         .buildAndDelete(db) == 1;
@@ -197,35 +206,24 @@ public final class UserManager {
         if(username == null || username.trim().isEmpty()) {
             throw new IllegalArgumentException("Username Cannot Be Empty!");
         }
-        final UserAccount account;
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 if (userExists(username)) {
-                    final var statement = new QueryBuilder()
-                            .SELECT(USERNAME_FIELD, PASSWORD_FIELD, TYPE_FIELD, SALT_FIELD,
-                                    ACCOUNT_CREATION_DATE_FIELD, ACCOUNT_LOCKED_FIELD,
-                                    PASSWORD_SET_TO_EXPIRE_FIELD, PASSWORD_EXPIRATION_DATE_FIELD)
-                            .FROM(TABLE_NAME)
+                    final var accounts = newUsersQuery()
+                            .useBindParameters()
                             .WHERE(USERNAME_FIELD, username)
-                            .build(db);
-
-                    try (final var rs = statement.executeQuery()) {
-                        rs.next();
-                        account = new UserAccount(rs.getString(USERNAME_FIELD),
-                                rs.getTimestamp(ACCOUNT_CREATION_DATE_FIELD).toLocalDateTime(),
-                                rs.getBoolean(ACCOUNT_LOCKED_FIELD), rs.getBoolean(PASSWORD_SET_TO_EXPIRE_FIELD),
-                                rs.getTimestamp(PASSWORD_EXPIRATION_DATE_FIELD).toLocalDateTime());
-                    }
+                            .list(db, USER_ACCOUNT_MAPPER);
+                    return accounts.isEmpty() ? null : accounts.get(0);
                 } else return null;
             } else throw new TableNotFoundException(TABLE_NAME);
         } catch (final SQLException e) {
             throw new UserManagerException(e);
         }
-        return account;
     }
 
     /**
-     * Checks if the specified username exists in the database.
+     * Checks if the specified username exists in the database, the case of the username is ignored
+     * because usernames are stored in lower case by {@link #createUser}.
      * @param username the username to check
      * @return true if the user exists
      * @throws IllegalArgumentException if username is null or empty
@@ -238,14 +236,15 @@ public final class UserManager {
         }
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
-                try (final var rs = TypedStatement.newQuery().SELECT_ALL().FROM(TABLE_NAME).buildAndExecute(db)) {
-                    while(rs.next()) {
-                        if (rs.getString(USERNAME_FIELD).equalsIgnoreCase(username)) return true;
-                    }
-                }
+                return TypedStatement.newQuery()
+                        .useBindParameters()
+                        .useCache()
+                        .SELECT(USERNAME_FIELD)
+                        .FROM(TABLE_NAME)
+                        .WHERE(USERNAME_FIELD, username.toLowerCase(Locale.ENGLISH))
+                        .existsAny(db);
             } else throw new TableNotFoundException(TABLE_NAME);
         } catch (final SQLException e) { throw new UserManagerException(e); }
-        return false;
     }
 
     /**
@@ -263,16 +262,15 @@ public final class UserManager {
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 if(userExists(username)) {
-                    final var statement = new QueryBuilder()
+                    final var types = new QueryBuilder()
+                            .useBindParameters()
+                            .useCache()
                             .SELECT(TYPE_FIELD)
                             .FROM(TABLE_NAME)
                             .WHERE(USERNAME_FIELD, username)
-                            .build(db);
-
-                    try(final var rs = statement.executeQuery()) {
-                        rs.next();
-                        return userRoleManager.getUserRole(rs.getString(TYPE_FIELD).toLowerCase(Locale.ENGLISH));
-                    }
+                            .list(db, UserManager::toUserType);
+                    if(types.isEmpty()) throw new IllegalArgumentException('"' + username + "\" Not Found!");
+                    return userRoleManager.getUserRole(types.get(0).toLowerCase(Locale.ENGLISH));
                 } else throw new IllegalArgumentException('"' + username + "\" Not Found!");
             } else throw new TableNotFoundException(TABLE_NAME);
         } catch (final SQLException e) { throw new UserManagerException(e); }
@@ -317,6 +315,7 @@ public final class UserManager {
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 return TypedStatement.newUpdate()
+                        .useBindParameters()
                         .UPDATE(TABLE_NAME)
                         .SET(TYPE_FIELD, userRole)
                         .WHERE(USERNAME_FIELD, username)
@@ -349,6 +348,7 @@ public final class UserManager {
                 final var salt = SecurityTools.PasswordHashes.createBCryptSaltString(12);
                 final var hashedPassword = SecurityTools.PasswordHashes.createBCryptHash(password, salt);
                 return TypedStatement.newUpdate()
+                        .useBindParameters()
                         .UPDATE(TABLE_NAME)
                         .SET(PASSWORD_FIELD, hashedPassword)
                         .SET(SALT_FIELD, salt)
@@ -378,6 +378,7 @@ public final class UserManager {
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 return TypedStatement.newUpdate()
+                        .useBindParameters()
                         .UPDATE(TABLE_NAME)
                         .SET(ACCOUNT_LOCKED_FIELD, status.toString())
                         .WHERE(USERNAME_FIELD, username)
@@ -405,9 +406,11 @@ public final class UserManager {
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 return TypedStatement.newUpdate()
+                        .useBindParameters()
                         .UPDATE(TABLE_NAME)
                         .SET(PASSWORD_SET_TO_EXPIRE_FIELD, "false")
-                        .SET(PASSWORD_EXPIRATION_DATE_FIELD, LocalDateTime.now().plusYears(1000).toString())
+                        .SET(PASSWORD_EXPIRATION_DATE_FIELD,
+                                Timestamp.valueOf(LocalDateTime.now().plusYears(1000)).toString())
                         .WHERE(USERNAME_FIELD, username)
                         .buildAndUpdate(db) != 0;
             } else throw new TableNotFoundException(TABLE_NAME);
@@ -434,9 +437,10 @@ public final class UserManager {
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 return TypedStatement.newUpdate()
+                        .useBindParameters()
                         .UPDATE(TABLE_NAME)
                         .SET(PASSWORD_SET_TO_EXPIRE_FIELD, "true")
-                        .SET(PASSWORD_EXPIRATION_DATE_FIELD, date.toString())
+                        .SET(PASSWORD_EXPIRATION_DATE_FIELD, Timestamp.valueOf(date).toString())
                         .WHERE(USERNAME_FIELD, username)
                         .buildAndUpdate(db) != 0;
             } else throw new TableNotFoundException(TABLE_NAME);
@@ -466,6 +470,7 @@ public final class UserManager {
             if(db.getInfo().tableExists(TABLE_NAME)) {
                 if(userExists(username)) {
                     final var statement = new QueryBuilder()
+                            .useBindParameters()
                             .SELECT(SALT_FIELD, PASSWORD_FIELD)
                             .FROM(TABLE_NAME)
                             .WHERE(USERNAME_FIELD, username)
@@ -493,54 +498,61 @@ public final class UserManager {
      * @throws UserManagerException if an error occurs during lookup
      */
     public HashSet<UserAccount> getUsersList() {
-        final HashSet<UserAccount> accounts = new HashSet<>();
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
-                final var statement = new QueryBuilder()
-                        .SELECT(USERNAME_FIELD, PASSWORD_FIELD, TYPE_FIELD, SALT_FIELD,
-                                ACCOUNT_CREATION_DATE_FIELD, ACCOUNT_LOCKED_FIELD,
-                                PASSWORD_SET_TO_EXPIRE_FIELD, PASSWORD_EXPIRATION_DATE_FIELD)
-                        .FROM(TABLE_NAME)
-                        .build(db);
-
-                try (final var rs = statement.executeQuery()) {
-                    while(rs.next()) {
-                        final var account = new UserAccount(rs.getString(USERNAME_FIELD),
-                                rs.getTimestamp(ACCOUNT_CREATION_DATE_FIELD).toLocalDateTime(),
-                                rs.getBoolean(ACCOUNT_LOCKED_FIELD), rs.getBoolean(PASSWORD_SET_TO_EXPIRE_FIELD),
-                                rs.getTimestamp(PASSWORD_EXPIRATION_DATE_FIELD).toLocalDateTime());
-                        accounts.add(account);
-                    }
-                }
+                return new HashSet<>(newUsersQuery().useCache().list(db, USER_ACCOUNT_MAPPER));
+            } else throw new TableNotFoundException(TABLE_NAME);
+        } catch (final SQLException e) { throw new UserManagerException(e); }
+    }
+
+    /**
+     * Returns a page of user accounts sorted by username, only the users of the page are read from the database.
+     * @param afterUsername the username of the last user of the previous page, null to return the first page
+     * @param pageSize the maximum number of users to return
+     * @return a list of UserAccount objects sorted by username
+     * @throws TableNotFoundException if users table is missing
+     * @throws UserManagerException if an error occurs during lookup
+     * @since 1.6.0
+     */
+    public List<UserAccount> getUsersPage(final String afterUsername, final int pageSize) {
+        try {
+            if(db.getInfo().tableExists(TABLE_NAME)) {
+                return newUsersQuery().useBindParameters().useCache()
+                        .pageAfter(USERNAME_FIELD, afterUsername, pageSize)
+                        .list(db, USER_ACCOUNT_MAPPER);
             } else throw new TableNotFoundException(TABLE_NAME);
         } catch (final SQLException e) { throw new UserManagerException(e); }
-        return accounts;
     }
 
+    private static QueryBuilder newUsersQuery() {
+        return new QueryBuilder()
+                .SELECT(USERNAME_FIELD, PASSWORD_FIELD, TYPE_FIELD, SALT_FIELD,
+                        ACCOUNT_CREATION_DATE_FIELD, ACCOUNT_LOCKED_FIELD,
+                        PASSWORD_SET_TO_EXPIRE_FIELD, PASSWORD_EXPIRATION_DATE_FIELD)
+                .FROM(TABLE_NAME);
+    }
+
+    private static String toUserType(final ResultSet rs) throws SQLException { return rs.getString(TYPE_FIELD); }
+
+    private static String toUsername(final ResultSet rs) throws SQLException { return rs.getString(USERNAME_FIELD); }
+
     /**
      * Returns a list of the user names in the database.
      * @return a list of the user names in the database
      * @throws TableNotFoundException if users table is missing
      */
     public HashSet<String> getUsernameList() {
-        final HashSet<String> accounts = new HashSet<>();
         try {
             if(db.getInfo().tableExists(TABLE_NAME)) {
-                final var statement = new QueryBuilder()
-                        .SELECT(USERNAME_FIELD, PASSWORD_FIELD, TYPE_FIELD)
+                return new HashSet<>(new QueryBuilder()
+                        .useCache()
+                        .SELECT(USERNAME_FIELD)
                         .FROM(TABLE_NAME)
-                        .build(db);
-
-                try (final var rs = statement.executeQuery()) {
-                    while(rs.next()) {
-                        accounts.add(rs.getString(USERNAME_FIELD));
-                    }
-                }
+                        .list(db, UserManager::toUsername));
             } else throw new TableNotFoundException(TABLE_NAME);
         } catch (final SQLException e) {
             throw new UserManagerException(e);
         }
-        return accounts;
     }
 
     /**
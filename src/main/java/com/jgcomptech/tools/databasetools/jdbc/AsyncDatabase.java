@@ -0,0 +1,211 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import com.jgcomptech.tools.databasetools.jdbc.builders.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs database operations on an executor and returns a {@code CompletableFuture} for each operation
+ * so the calling thread is never blocked, use {@link Database#getAsync} to access the default instance.
+ * The number of operations that run at the same time is limited to the number of connections of the database
+ * and the number of operations that wait for a connection is limited to the queue size,
+ * once the queue is full new operations fail with a {@code RejectedExecutionException}.
+ * If no executor is specified virtual threads are used if the JVM supports them,
+ * otherwise a fixed pool of daemon threads is used.
+ * Each operation runs in a {@link ConnectionScope}, so if connections are confined to threads
+ * the connection of the operation is returned to the pool when the operation ends.
+ * @since 1.6.0
+ */
+public final class AsyncDatabase implements AutoCloseable {
+    /**
+     * An operation to run against the database.
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface Operation<T> {
+        /**
+         * Runs the operation.
+         * @param db the database to run the operation against
+         * @return the result of the operation
+         * @throws SQLException if a database access error occurs
+         */
+        T run(Database db) throws SQLException;
+    }
+
+    private final Database db;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final Semaphore running;
+    private final Semaphore pending;
+    private final int queueSize;
+
+    /**
+     * Creates an instance that uses the default executor with a queue size of 4 times the connection count.
+     * @param db the database to run operations against
+     */
+    public AsyncDatabase(final Database db) {
+        this(db, null, db.getConnection().getMaxConnections() * 4);
+    }
+
+    /**
+     * Creates an instance that uses the specified executor.
+     * @param db the database to run operations against
+     * @param executor the executor to run operations on, null to use the default executor
+     * @param queueSize the maximum number of operations that wait for a connection
+     * @throws IllegalArgumentException if the database is null or the queue size is negative
+     */
+    public AsyncDatabase(final Database db, final Executor executor, final int queueSize) {
+        if(db == null) throw new IllegalArgumentException("Database Cannot Be Null!");
+        if(queueSize < 0) throw new IllegalArgumentException("Queue Size Cannot Be Negative!");
+        final var connections = db.getConnection().getMaxConnections();
+        this.db = db;
+        this.queueSize = queueSize;
+        running = new Semaphore(connections);
+        pending = new Semaphore(connections + queueSize);
+        ownsExecutor = executor == null;
+        this.executor = executor == null ? createDefaultExecutor(db.getInfo().getName(), connections) : executor;
+    }
+
+    private static ExecutorService createDefaultExecutor(final String name, final int threads) {
+        try {
+            //Virtual threads are only available on Java 21 and later
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch(final ReflectiveOperationException e) {
+            final var count = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                final var thread = new Thread(runnable, "AsyncDatabase-" + name + '-' + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs the specified operation on the executor.
+     * @param <T> the type of the result
+     * @param operation the operation to run
+     * @return a future that completes with the result of the operation,
+     * or exceptionally with a {@code RejectedExecutionException} if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(final Operation<T> operation) {
+        final var future = new CompletableFuture<T>();
+        if(!pending.tryAcquire()) {
+            future.completeExceptionally(new RejectedExecutionException("Async Queue Is Full!"));
+            return future;
+        }
+        try {
+            executor.execute(() -> {
+                final T result;
+                try {
+                    running.acquire();
+                    try(final var scope = db.getConnection().openScope()) {
+                        result = operation.run(db);
+                    } finally {
+                        running.release();
+                    }
+                } catch(final Throwable e) {
+                    pending.release();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                //The permit is released first so the next operation can be queued from a dependent stage
+                pending.release();
+                future.complete(result);
+            });
+        } catch(final RejectedExecutionException e) {
+            pending.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Runs the query and maps every row of the result-set, the statement is closed before the future completes.
+     * @param <T> the type of object each row is mapped to
+     * @param builder the query to run
+     * @param mapper the mapper that converts each row to an object
+     * @return a future that completes with the list of mapped rows
+     */
+    public <T> CompletableFuture<List<T>> query(final QueryBuilder builder, final RowMapper<T> mapper) {
+        return submit(db -> {
+            try(final var rows = builder.stream(db, mapper)) {
+                return rows.collect(Collectors.toList());
+            } catch(final UncheckedSQLException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    /**
+     * Returns the number of rows in the result-set of the query.
+     * @param builder the query to count
+     * @return a future that completes with the number of rows
+     */
+    public CompletableFuture<Long> count(final QueryBuilder builder) { return submit(builder::count); }
+
+    /**
+     * Runs the INSERT statement.
+     * @param builder the statement to run
+     * @return a future that completes with the number of rows inserted
+     */
+    public CompletableFuture<Integer> insert(final InsertBuilder builder) { return submit(builder::buildAndInsert); }
+
+    /**
+     * Runs the UPDATE statement.
+     * @param builder the statement to run
+     * @return a future that completes with the number of rows updated
+     */
+    public CompletableFuture<Integer> update(final UpdateBuilder builder) { return submit(builder::buildAndUpdate); }
+
+    /**
+     * Runs the DELETE statement.
+     * @param builder the statement to run
+     * @return a future that completes with the number of rows deleted
+     */
+    public CompletableFuture<Integer> delete(final DeleteBuilder builder) { return submit(builder::buildAndDelete); }
+
+    /**
+     * Runs the upsert statement.
+     * @param builder the statement to run
+     * @return a future that completes with the number of rows inserted or updated
+     */
+    public CompletableFuture<Integer> upsert(final UpsertBuilder builder) { return submit(builder::buildAndUpsert); }
+
+    /**
+     * Runs the SQL statement with {@link Database.Tasks#executeUpdate}.
+     * @param sql an SQL {@code INSERT}, {@code UPDATE}, {@code DELETE} or DDL statement
+     * @return a future that completes with the row count or 0 for statements that return nothing
+     */
+    public CompletableFuture<Integer> executeUpdate(final String sql) {
+        return submit(db -> db.getTasks().executeUpdate(sql));
+    }
+
+    /**
+     * Returns the maximum number of operations that wait for a connection.
+     * @return the queue size
+     */
+    public int getQueueSize() { return queueSize; }
+
+    /**
+     * Returns the number of operations that are running or waiting for a connection.
+     * @return the number of pending operations
+     */
+    public int getPendingCount() {
+        return db.getConnection().getMaxConnections() + queueSize - pending.availablePermits();
+    }
+
+    /** Shuts down the default executor, an executor passed to the constructor is left running. */
+    @Override
+    public void close() {
+        if(ownsExecutor) ((ExecutorService) executor).shutdown();
+    }
+}
@@ -0,0 +1,429 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps rows to objects of a class through method handles that are resolved once instead of
+ * looking up every column by name for every row.
+ * The first time a result-set with a new set of column labels is mapped a plan is created that binds
+ * each column index to a typed getter of the result-set and to the property or constructor parameter
+ * it is passed to, the plan is cached per column labels so later result-sets of the same query reuse it.
+ * Classes are mapped in one of two ways:
+ * <ul>
+ * <li>{@link #of(Class)} creates the object with its no-arg constructor and sets each column with the setter
+ * or the non-final field of the same name, names are matched ignoring case and underscores
+ * and columns without a property are ignored. Records are created with their canonical constructor.</li>
+ * <li>{@link #of(Class, String...)} passes the specified columns to the constructor that has
+ * one parameter per column, in order, for immutable classes.</li>
+ * </ul>
+ * A mapper is thread safe and should be kept in a constant, the plan of the result-set that is being mapped
+ * is kept per thread.
+ * @param <T> the type of object each row is mapped to
+ * @since 1.6.0
+ */
+public final class BeanRowMapper<T> implements RowMapper<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Map<Class<?>, MethodHandle> GETTERS = createGetters();
+    private static final MethodHandle ENUM_GETTER;
+    private static final MethodHandle TYPED_GETTER;
+    private static final int MAX_PLANS = 64;
+    private static final ClassValue<BeanRowMapper<?>> BEANS = new ClassValue<>() {
+        @Override
+        protected BeanRowMapper<?> computeValue(final Class<?> type) {
+            final var components = getRecordComponents(type);
+            return components == null ? new BeanRowMapper<>(type) : new BeanRowMapper<>(type, components);
+        }
+    };
+
+    static {
+        try {
+            ENUM_GETTER = LOOKUP.findStatic(BeanRowMapper.class, "getEnum",
+                    MethodType.methodType(Enum.class, ResultSet.class, int.class, Class.class));
+            TYPED_GETTER = LOOKUP.findVirtual(ResultSet.class, "getObject",
+                    MethodType.methodType(Object.class, int.class, Class.class));
+        } catch(final NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<T> type;
+    private final Map<String, MethodHandle> properties;
+    private final MethodHandle constructor;
+    private final String[] columnLabels;
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+    private final ThreadLocal<Bound> bound = new ThreadLocal<>();
+
+    private BeanRowMapper(final Class<T> type) {
+        this.type = type;
+        properties = findProperties(type);
+        columnLabels = null;
+        try {
+            final var noArgs = type.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            constructor = LOOKUP.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+        } catch(final NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException('"' + type.getName() + "\" Has No Accessible No-Arg Constructor!", e);
+        }
+    }
+
+    private BeanRowMapper(final Class<T> type, final String... columnLabels) {
+        this.type = type;
+        properties = Map.of();
+        this.columnLabels = columnLabels.clone();
+        Constructor<?> match = null;
+        for(final var candidate : type.getDeclaredConstructors()) {
+            if(candidate.getParameterCount() == columnLabels.length) {
+                if(match != null) {
+                    throw new IllegalArgumentException('"' + type.getName() + "\" Has More Than One Constructor With "
+                            + columnLabels.length + " Parameters!");
+                }
+                match = candidate;
+            }
+        }
+        if(match == null) {
+            throw new IllegalArgumentException('"' + type.getName() + "\" Has No Constructor With "
+                    + columnLabels.length + " Parameters!");
+        }
+        try {
+            match.setAccessible(true);
+            constructor = LOOKUP.unreflectConstructor(match);
+        } catch(final IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Constructor Of \"" + type.getName() + "\" Is Not Accessible!", e);
+        }
+    }
+
+    /**
+     * Returns the mapper of the specified class, the mapper is created once per class.
+     * The class needs a no-arg constructor, which may be private, or must be a record.
+     * @param <T> the type of object each row is mapped to
+     * @param type the class to map rows to
+     * @return the mapper of the class
+     * @throws IllegalArgumentException if the class has no no-arg constructor and is not a record
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanRowMapper<T> of(final Class<T> type) {
+        if(type == null) throw new IllegalArgumentException("Type Cannot Be Null!");
+        return (BeanRowMapper<T>) BEANS.get(type);
+    }
+
+    /**
+     * Creates a mapper that passes the specified columns to the constructor of the class that has
+     * one parameter per column, each column is read with the getter that matches the type of its parameter.
+     * @param <T> the type of object each row is mapped to
+     * @param type the class to map rows to
+     * @param columnLabels the labels of the columns in the order of the constructor parameters
+     * @return a new mapper
+     * @throws IllegalArgumentException if no columns are specified or the class does not have
+     * exactly one constructor with that many parameters
+     */
+    public static <T> BeanRowMapper<T> of(final Class<T> type, final String... columnLabels) {
+        if(type == null) throw new IllegalArgumentException("Type Cannot Be Null!");
+        if(columnLabels == null || columnLabels.length == 0) {
+            throw new IllegalArgumentException("Column Labels Cannot Be Empty!");
+        }
+        return new BeanRowMapper<>(type, columnLabels);
+    }
+
+    /**
+     * Returns the class that rows are mapped to.
+     * @return the class of the mapped objects
+     */
+    public Class<T> getType() { return type; }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T mapRow(final ResultSet rs) throws SQLException {
+        var current = bound.get();
+        if(current == null || current.rs.get() != rs) {
+            current = new Bound(rs, getPlan(rs.getMetaData()));
+            bound.set(current);
+        }
+        try {
+            final var plan = current.plan;
+            final var object = plan.create.invokeExact(rs);
+            for(final var setter : plan.setters) setter.invokeExact(object, rs);
+            return (T) object;
+        } catch(final SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch(final Throwable e) {
+            throw new SQLException("Failed To Map Row To \"" + type.getName() + "\"!", e);
+        }
+    }
+
+    private Plan getPlan(final ResultSetMetaData metaData) throws SQLException {
+        final var count = metaData.getColumnCount();
+        final var labels = new String[count];
+        final var key = new StringBuilder();
+        for(var i = 0; i < count; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            key.append(labels[i]).append('\0');
+        }
+        final var plan = plans.get(key.toString());
+        if(plan != null) return plan;
+        //Queries with generated column labels would otherwise grow the cache without a limit
+        if(plans.size() >= MAX_PLANS) plans.clear();
+        final var created = columnLabels == null ? createBeanPlan(labels) : createConstructorPlan(labels);
+        plans.put(key.toString(), created);
+        return created;
+    }
+
+    private Plan createBeanPlan(final String[] labels) {
+        final var setters = new ArrayList<MethodHandle>();
+        final var mapped = new HashMap<String, Boolean>();
+        for(var i = 0; i < labels.length; i++) {
+            final var name = normalize(labels[i]);
+            final var property = properties.get(name);
+            //If a label is repeated the first column is used
+            if(property == null || mapped.put(name, true) != null) continue;
+            final var valueType = property.type().parameterType(1);
+            setters.add(MethodHandles.filterArguments(property, 1, getter(valueType, i + 1))
+                    .asType(MethodType.methodType(void.class, Object.class, ResultSet.class)));
+        }
+        return new Plan(MethodHandles.dropArguments(constructor, 0, ResultSet.class),
+                setters.toArray(new MethodHandle[0]));
+    }
+
+    private Plan createConstructorPlan(final String[] labels) throws SQLException {
+        var create = constructor;
+        for(var p = 0; p < columnLabels.length; p++) {
+            final var name = normalize(columnLabels[p]);
+            var index = -1;
+            for(var i = 0; i < labels.length && index < 0; i++) {
+                if(normalize(labels[i]).equals(name)) index = i + 1;
+            }
+            if(index < 0) throw new SQLException("Column \"" + columnLabels[p] + "\" Not Found!");
+            create = MethodHandles.filterArguments(create, p, getter(constructor.type().parameterType(p), index));
+        }
+        //Every parameter now reads from the same result-set
+        create = MethodHandles.permuteArguments(create, MethodType.methodType(type, ResultSet.class),
+                new int[columnLabels.length]);
+        return new Plan(create.asType(MethodType.methodType(Object.class, ResultSet.class)), new MethodHandle[0]);
+    }
+
+    /**
+     * Returns a handle that reads the specified column as the specified type.
+     * @param valueType the type to read
+     * @param index the index of the column
+     * @return a handle of type {@code (ResultSet)valueType}
+     */
+    private static MethodHandle getter(final Class<?> valueType, final int index) {
+        var getter = GETTERS.get(valueType);
+        if(getter == null) {
+            //Other types are converted by the driver, enums are read by their name
+            getter = MethodHandles.insertArguments(valueType.isEnum() ? ENUM_GETTER : TYPED_GETTER, 2, valueType);
+        }
+        return MethodHandles.insertArguments(getter, 1, index)
+                .asType(MethodType.methodType(valueType, ResultSet.class));
+    }
+
+    private static Map<Class<?>, MethodHandle> createGetters() {
+        final var getters = new HashMap<Class<?>, MethodHandle>();
+        try {
+            addGetter(getters, String.class, "getString");
+            addGetter(getters, boolean.class, "getBoolean");
+            addGetter(getters, byte.class, "getByte");
+            addGetter(getters, short.class, "getShort");
+            addGetter(getters, int.class, "getInt");
+            addGetter(getters, long.class, "getLong");
+            addGetter(getters, float.class, "getFloat");
+            addGetter(getters, double.class, "getDouble");
+            addGetter(getters, BigDecimal.class, "getBigDecimal");
+            addGetter(getters, byte[].class, "getBytes");
+            addGetter(getters, Date.class, "getDate");
+            addGetter(getters, Time.class, "getTime");
+            addGetter(getters, Timestamp.class, "getTimestamp");
+            addGetter(getters, Object.class, "getObject");
+            for(final var wrapper : new Class<?>[] {Boolean.class, Byte.class, Short.class, Integer.class,
+                    Long.class, Float.class, Double.class, LocalDate.class, LocalTime.class, LocalDateTime.class}) {
+                getters.put(wrapper, LOOKUP.findStatic(BeanRowMapper.class, "get" + wrapper.getSimpleName(),
+                        MethodType.methodType(wrapper, ResultSet.class, int.class)));
+            }
+        } catch(final NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        return Map.copyOf(getters);
+    }
+
+    private static void addGetter(final Map<Class<?>, MethodHandle> getters, final Class<?> valueType,
+                                  final String name) throws NoSuchMethodException, IllegalAccessException {
+        getters.put(valueType, LOOKUP.findVirtual(ResultSet.class, name,
+                MethodType.methodType(valueType, int.class)));
+    }
+
+    private static Boolean getBoolean(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getBoolean(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Byte getByte(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getByte(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Short getShort(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getShort(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Integer getInteger(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getInt(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Long getLong(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getLong(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Float getFloat(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getFloat(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double getDouble(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getDouble(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDate getLocalDate(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getDate(index);
+        return value == null ? null : value.toLocalDate();
+    }
+
+    private static LocalTime getLocalTime(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getTime(index);
+        return value == null ? null : value.toLocalTime();
+    }
+
+    private static LocalDateTime getLocalDateTime(final ResultSet rs, final int index) throws SQLException {
+        final var value = rs.getTimestamp(index);
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Enum<?> getEnum(final ResultSet rs, final int index, final Class<?> enumType)
+            throws SQLException {
+        final var value = rs.getString(index);
+        return value == null ? null : Enum.valueOf((Class<? extends Enum>) enumType, value);
+    }
+
+    /**
+     * Finds the setters and non-final fields of the class and its super classes,
+     * setters take precedence over fields and subclasses over super classes.
+     * @param type the class to search
+     * @return handles of type {@code (type, value)void} keyed by their normalized property names
+     */
+    private static Map<String, MethodHandle> findProperties(final Class<?> type) {
+        final var setters = new HashMap<String, MethodHandle>();
+        final var fields = new HashMap<String, MethodHandle>();
+        for(var current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for(final Method method : current.getDeclaredMethods()) {
+                if(Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1
+                        || method.getName().length() < 4 || !method.getName().startsWith("set")) continue;
+                final var name = normalize(method.getName().substring(3));
+                if(setters.containsKey(name)) continue;
+                try {
+                    method.setAccessible(true);
+                    setters.put(name, LOOKUP.unreflect(method)
+                            .asType(MethodType.methodType(void.class, type, method.getParameterTypes()[0])));
+                } catch(final IllegalAccessException | RuntimeException ignored) { }
+            }
+            for(final Field field : current.getDeclaredFields()) {
+                final var modifiers = field.getModifiers();
+                if(Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()) continue;
+                final var name = normalize(field.getName());
+                if(fields.containsKey(name)) continue;
+                try {
+                    field.setAccessible(true);
+                    fields.put(name, LOOKUP.unreflectSetter(field)
+                            .asType(MethodType.methodType(void.class, type, field.getType())));
+                } catch(final IllegalAccessException | RuntimeException ignored) { }
+            }
+        }
+        fields.putAll(setters);
+        return Map.copyOf(fields);
+    }
+
+    /**
+     * Returns the component names of the specified class if it is a record.
+     * @param type the class to check
+     * @return the component names, null if the class is not a record
+     */
+    private static String[] getRecordComponents(final Class<?> type) {
+        try {
+            //Records are only available on Java 16 and later
+            if(!(Boolean) Class.class.getMethod("isRecord").invoke(type)) return null;
+            final var components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+            final var names = new String[components.length];
+            for(var i = 0; i < components.length; i++) {
+                names[i] = (String) components[i].getClass().getMethod("getName").invoke(components[i]);
+            }
+            return names.length == 0 ? null : names;
+        } catch(final ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static String normalize(final String name) {
+        return name.replace("_", "").toLowerCase(Locale.ENGLISH);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("type", type.getName())
+                .append("plans", plans.size())
+                .toString();
+    }
+
+    /** The handles that create an object from a row of a result-set with a specific set of column labels. */
+    private static final class Plan {
+        /** A handle of type {@code (ResultSet)Object} that creates the object. */
+        private final MethodHandle create;
+        /** Handles of type {@code (Object, ResultSet)void} that set the properties of the object. */
+        private final MethodHandle[] setters;
+
+        private Plan(final MethodHandle create, final MethodHandle[] setters) {
+            this.create = create;
+            this.setters = setters;
+        }
+    }
+
+    /**
+     * The plan of the result-set that was mapped last by a thread, it is kept per thread
+     * so threads that map different result-sets at the same time do not replace each other's plan.
+     */
+    private static final class Bound {
+        private final WeakReference<ResultSet> rs;
+        private final Plan plan;
+
+        private Bound(final ResultSet rs, final Plan plan) {
+            this.rs = new WeakReference<>(rs);
+            this.plan = plan;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Settings object used to enable and configure the pooled connection mode of a {@link Database}.
+ * When a database is created with pool settings every task, builder and settings
+ * operation borrows a connection from the pool and returns it when the operation completes.
+ * @since 1.6.0
+ */
+public class ConnectionPoolSettings {
+    /**
+     * The minimum number of idle connections kept in the pool.
+     */
+    private int minIdle;
+    /**
+     * The maximum number of idle connections kept in the pool.
+     */
+    private int maxIdle = 8;
+    /**
+     * The maximum number of connections that can be borrowed at the same time.
+     */
+    private int maxTotal = 8;
+    /**
+     * The query used to validate connections before they are borrowed.
+     */
+    private String validationQuery = "";
+    /**
+     * The maximum number of milliseconds to wait for a connection to be returned.
+     */
+    private long maxWaitMillis = 30000;
+    /**
+     * If true queries use the pool and all other statements use a single writer connection.
+     */
+    private boolean readWriteSplit;
+    /**
+     * If true each thread keeps the connection it borrowed until its scope ends.
+     */
+    private boolean threadConfined;
+
+    /**
+     * Returns the minimum number of idle connections kept in the pool.
+     * @return the minimum number of idle connections
+     */
+    public int getMinIdle() { return minIdle; }
+
+    /**
+     * Sets the minimum number of idle connections kept in the pool.
+     * @param minIdle the minimum number of idle connections
+     * @return an instance of this object for use as a builder pattern
+     */
+    public ConnectionPoolSettings setMinIdle(final int minIdle) {
+        if(minIdle < 0) throw new IllegalArgumentException("Min Idle Cannot Be Negative!");
+        this.minIdle = minIdle;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of idle connections kept in the pool.
+     * @return the maximum number of idle connections
+     */
+    public int getMaxIdle() { return maxIdle; }
+
+    /**
+     * Sets the maximum number of idle connections kept in the pool.
+     * @param maxIdle the maximum number of idle connections
+     * @return an instance of this object for use as a builder pattern
+     */
+    public ConnectionPoolSettings setMaxIdle(final int maxIdle) {
+        if(maxIdle < 0) throw new IllegalArgumentException("Max Idle Cannot Be Negative!");
+        this.maxIdle = maxIdle;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of connections that can be borrowed at the same time.
+     * @return the maximum number of connections
+     */
+    public int getMaxTotal() { return maxTotal; }
+
+    /**
+     * Sets the maximum number of connections that can be borrowed at the same time.
+     * @param maxTotal the maximum number of connections, must be at least 1
+     * @return an instance of this object for use as a builder pattern
+     */
+    public ConnectionPoolSettings setMaxTotal(final int maxTotal) {
+        if(maxTotal < 1) throw new IllegalArgumentException("Max Total Must Be At Least 1!");
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    /**
+     * Returns the query used to validate connections before they are borrowed.
+     * @return the validation query, an empty string if the driver validation is used
+     */
+    public String getValidationQuery() { return validationQuery; }
+
+    /**
+     * Sets the query used to validate connections before they are borrowed,
+     * if empty the JDBC driver's own validation is used.
+     * @param validationQuery the validation query, such as {@code SELECT 1}
+     * @return an instance of this object for use as a builder pattern
+     */
+    public ConnectionPoolSettings setValidationQuery(final String validationQuery) {
+        this.validationQuery = validationQuery == null ? "" : validationQuery;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of milliseconds to wait for a connection to be returned
+     * when all connections are in use.
+     * @return the borrow timeout in milliseconds, -1 if the wait is indefinite
+     */
+    public long getMaxWaitMillis() { return maxWaitMillis; }
+
+    /**
+     * Sets the maximum number of milliseconds to wait for a connection to be returned
+     * when all connections are in use.
+     * @param maxWaitMillis the borrow timeout in milliseconds, -1 to wait indefinitely
+     * @return an instance of this object for use as a builder pattern
+     */
+    public ConnectionPoolSettings setMaxWaitMillis(final long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+        return this;
+    }
+
+    /**
+     * Checks if queries and writes use separate connections.
+     * @return true if the read/write split is enabled
+     */
+    public boolean isReadWriteSplit() { return readWriteSplit; }
+
+    /**
+     * Sets if queries and writes use separate connections. When enabled queries borrow a connection from
+     * the pool while INSERT, UPDATE, DELETE, upsert, CREATE and plain sql update statements as well as
+     * transactions run one at a time on the dedicated writer connection of the database,
+     * so reads never wait for a write to finish and writers do not contend for the database lock.
+     * Threads wait for the writer connection up to the borrow timeout.
+     * This suits databases that allow many concurrent readers but a single writer,
+     * such as H2 or SQLite in WAL journal mode.
+     * @param readWriteSplit if true queries and writes use separate connections
+     * @return an instance of this object for use as a builder pattern
+     */
+    public ConnectionPoolSettings setReadWriteSplit(final boolean readWriteSplit) {
+        this.readWriteSplit = readWriteSplit;
+        return this;
+    }
+
+    /**
+     * Checks if each thread keeps its own connection.
+     * @return true if connections are confined to threads
+     * @since 1.6.0
+     */
+    public boolean isThreadConfined() { return threadConfined; }
+
+    /**
+     * Sets if each thread keeps its own connection. When enabled a thread borrows a connection from the pool
+     * the first time it runs a statement and keeps using that connection until the scope opened with
+     * {@link Database.Connection#openScope} ends or the thread terminates, so statements of different threads
+     * never run on the same connection and repeated statements of a thread reuse its cached statements.
+     * The pool must allow one connection per concurrent thread.
+     * If the read/write split is also enabled only the reader connections are confined to threads.
+     * @param threadConfined if true each thread keeps its own connection
+     * @return an instance of this object for use as a builder pattern
+     * @since 1.6.0
+     */
+    public ConnectionPoolSettings setThreadConfined(final boolean threadConfined) {
+        this.threadConfined = threadConfined;
+        return this;
+    }
+
+    /**
+     * Creates a copy of these settings, the database keeps a copy so later changes to the settings
+     * do not change a pool that was already created.
+     * @return a new settings object with the same values
+     */
+    ConnectionPoolSettings copy() {
+        final var settings = new ConnectionPoolSettings();
+        settings.minIdle = minIdle;
+        settings.maxIdle = maxIdle;
+        settings.maxTotal = maxTotal;
+        settings.validationQuery = validationQuery;
+        settings.maxWaitMillis = maxWaitMillis;
+        settings.readWriteSplit = readWriteSplit;
+        settings.threadConfined = threadConfined;
+        return settings;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+
+        if (!(o instanceof ConnectionPoolSettings)) return false;
+
+        final var settings = (ConnectionPoolSettings) o;
+
+        return new EqualsBuilder()
+                .append(minIdle, settings.minIdle)
+                .append(maxIdle, settings.maxIdle)
+                .append(maxTotal, settings.maxTotal)
+                .append(validationQuery, settings.validationQuery)
+                .append(maxWaitMillis, settings.maxWaitMillis)
+                .append(readWriteSplit, settings.readWriteSplit)
+                .append(threadConfined, settings.threadConfined)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(minIdle)
+                .append(maxIdle)
+                .append(maxTotal)
+                .append(validationQuery)
+                .append(maxWaitMillis)
+                .append(readWriteSplit)
+                .append(threadConfined)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("minIdle", minIdle)
+                .append("maxIdle", maxIdle)
+                .append("maxTotal", maxTotal)
+                .append("validationQuery", validationQuery)
+                .append("maxWaitMillis", maxWaitMillis)
+                .append("readWriteSplit", readWriteSplit)
+                .append("threadConfined", threadConfined)
+                .toString();
+    }
+}
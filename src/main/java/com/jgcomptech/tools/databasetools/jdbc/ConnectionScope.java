@@ -0,0 +1,43 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * A unit of work of a single thread opened with {@link Database.Connection#openScope}.
+ * If connections are confined to threads the connection the thread borrowed while the scope was open
+ * is returned to the pool when the outermost scope of the thread is closed, scopes can be nested.
+ * The scope should be used in a try-with-resources block and must be closed by the thread that opened it.
+ * If connections are not confined to threads closing the scope does nothing.
+ * @since 1.6.0
+ */
+public final class ConnectionScope implements AutoCloseable {
+    private final Database.Connection owner;
+    private final Thread thread;
+    private boolean open = true;
+
+    ConnectionScope(final Database.Connection owner) {
+        this.owner = owner;
+        thread = Thread.currentThread();
+    }
+
+    /**
+     * Checks if the scope has not been closed.
+     * @return true if the scope is open
+     */
+    public boolean isOpen() { return open; }
+
+    /**
+     * Closes the scope, if this is the outermost scope of the thread its connection is returned to the pool.
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if the scope is closed by another thread than the one that opened it
+     */
+    @Override
+    public void close() throws SQLException {
+        if(!open) return;
+        if(thread != Thread.currentThread()) {
+            throw new IllegalStateException("Scope Must Be Closed By The Thread That Opened It!");
+        }
+        open = false;
+        owner.endScope();
+    }
+}
@@ -0,0 +1,353 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import com.jgcomptech.tools.databasetools.jdbc.builders.QueryBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams rows between CSV text and database tables without holding more than one batch in memory.
+ * Imports read one record at a time and insert the rows with a batch {@link TypedStatement},
+ * outside of a transaction every batch is committed as its own transaction so the batches that were sent
+ * before an error are kept, the rows of the batch that was not sent yet are discarded.
+ * Exports read the rows of a query with a forward only result-set and the configured fetch size
+ * and write each row as soon as it is read.
+ * The CSV format follows RFC 4180, fields that contain the delimiter, a quote or a line break are quoted
+ * and quotes are escaped by doubling them. An empty unquoted field is imported as {@code NULL}
+ * and {@code NULL} values are exported as empty unquoted fields.
+ * @since 1.6.0
+ */
+public final class CsvTransfer {
+    private final Database db;
+    private char delimiter = ',';
+    private boolean header = true;
+    private int batchSize = 1000;
+    private int fetchSize = 1000;
+
+    /**
+     * Creates an instance that transfers rows to and from the specified database.
+     * @param db the database to transfer rows to and from
+     * @throws IllegalArgumentException if the database is null
+     */
+    public CsvTransfer(final Database db) {
+        if(db == null) throw new IllegalArgumentException("Database Cannot Be Null!");
+        this.db = db;
+    }
+
+    /**
+     * Sets the character that separates fields, the default is a comma.
+     * @param delimiter the field delimiter
+     * @return an instance of this object for use as a builder pattern
+     * @throws IllegalArgumentException if the delimiter is a quote or a line break
+     */
+    public CsvTransfer setDelimiter(final char delimiter) {
+        if(delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Delimiter Cannot Be A Quote Or Line Break!");
+        }
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Sets if the first record contains the column names, the default is true.
+     * When importing the header names the columns to insert into unless the columns are specified,
+     * when exporting the column labels of the query are written as the first record.
+     * @param header if true the first record is a header
+     * @return an instance of this object for use as a builder pattern
+     */
+    public CsvTransfer setHeader(final boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows that are sent to the database at once when importing, the default is 1000.
+     * @param batchSize the number of rows per batch
+     * @return an instance of this object for use as a builder pattern
+     * @throws IllegalArgumentException if the batch size is less than 1
+     */
+    public CsvTransfer setBatchSize(final int batchSize) {
+        if(batchSize < 1) throw new IllegalArgumentException("Batch Size Must Be At Least 1!");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows the driver fetches at once when exporting, the default is 1000.
+     * @param fetchSize the fetch size, 0 to use the driver default
+     * @return an instance of this object for use as a builder pattern
+     * @throws IllegalArgumentException if the fetch size is negative
+     */
+    public CsvTransfer setFetchSize(final int fetchSize) {
+        if(fetchSize < 0) throw new IllegalArgumentException("Fetch Size Cannot Be Negative!");
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Imports all records of the CSV text into the specified table, the columns are named by the header.
+     * @param in the reader to read the CSV text from, it is not closed
+     * @param tableName the name of the table to insert into
+     * @return the number of imported rows and the time it took
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if an error occurs while reading
+     * @throws IllegalStateException if the header is disabled or missing
+     * @throws IllegalArgumentException if a record does not have the same number of fields as the columns
+     */
+    public Result importCsv(final Reader in, final String tableName) throws SQLException, IOException {
+        return importCsv(in, tableName, (String[]) null);
+    }
+
+    /**
+     * Imports all records of the CSV text into the specified columns of the specified table,
+     * if the header is enabled the first record is skipped.
+     * @param in the reader to read the CSV text from, it is not closed
+     * @param tableName the name of the table to insert into
+     * @param columnNames the names of the columns to insert into in the order of the fields,
+     *                    null to use the names in the header
+     * @return the number of imported rows and the time it took
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if an error occurs while reading
+     * @throws IllegalStateException if no columns are specified and the header is disabled or missing
+     * @throws IllegalArgumentException if a record does not have the same number of fields as the columns
+     */
+    public Result importCsv(final Reader in, final String tableName, final String... columnNames)
+            throws SQLException, IOException {
+        if(in == null) throw new IllegalArgumentException("Reader Cannot Be Null!");
+        final var start = System.nanoTime();
+        final var parser = new Parser(in, delimiter);
+        var columns = columnNames;
+        if(header) {
+            final var names = parser.next();
+            if(columns == null) {
+                if(names == null) throw new IllegalStateException("CSV Header Not Found!");
+                columns = names.toArray(new String[0]);
+            }
+        } else if(columns == null) throw new IllegalStateException("Columns Must Be Specified Without A Header!");
+
+        var rows = 0L;
+        try(final var batch = TypedStatement.newInsert()
+                .INSERT_INTO(tableName, columns).buildBatch(db, batchSize)) {
+            try {
+                List<String> record;
+                while((record = parser.next()) != null) {
+                    if(record.size() != columns.length) {
+                        throw new IllegalArgumentException("Record " + parser.getRecordNumber()
+                                + " Has " + record.size() + " Fields But " + columns.length + " Were Expected!");
+                    }
+                    batch.addBatch(record.toArray());
+                    rows++;
+                }
+            } catch(final Exception e) {
+                //Closing the statement would send the rows before the failed record
+                batch.clearBatch();
+                throw e;
+            }
+        }
+        return new Result(rows, System.nanoTime() - start);
+    }
+
+    /**
+     * Exports all rows of the specified table as CSV text.
+     * @param tableName the name of the table to export
+     * @param out the writer to write the CSV text to, it is flushed but not closed
+     * @return the number of exported rows and the time it took
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if an error occurs while writing
+     */
+    public Result exportCsv(final String tableName, final Writer out) throws SQLException, IOException {
+        return exportCsv(TypedStatement.newQuery().SELECT_ALL().FROM(tableName), out);
+    }
+
+    /**
+     * Exports all rows of the specified query as CSV text, the rows are written as they are read
+     * from the database.
+     * @param query the query that selects the rows to export
+     * @param out the writer to write the CSV text to, it is flushed but not closed
+     * @return the number of exported rows and the time it took
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if an error occurs while writing
+     */
+    public Result exportCsv(final QueryBuilder query, final Writer out) throws SQLException, IOException {
+        if(query == null) throw new IllegalArgumentException("Query Cannot Be Null!");
+        if(out == null) throw new IllegalArgumentException("Writer Cannot Be Null!");
+        final var start = System.nanoTime();
+        var rows = 0L;
+        try(final var stmt = query.buildPreparedStatement(db, ResultSet.TYPE_FORWARD_ONLY)) {
+            stmt.setFetchSize(fetchSize);
+            try(final var rs = stmt.executeQuery()) {
+                final var metaData = rs.getMetaData();
+                final var columnCount = metaData.getColumnCount();
+                if(header) {
+                    for(var i = 1; i <= columnCount; i++) {
+                        if(i > 1) out.write(delimiter);
+                        writeField(out, metaData.getColumnLabel(i));
+                    }
+                    out.write("\r\n");
+                }
+                while(rs.next()) {
+                    for(var i = 1; i <= columnCount; i++) {
+                        if(i > 1) out.write(delimiter);
+                        final var value = rs.getString(i);
+                        //An empty string is quoted so it is not imported as NULL
+                        if(value != null) writeField(out, value);
+                    }
+                    out.write("\r\n");
+                    rows++;
+                }
+            }
+        }
+        out.flush();
+        return new Result(rows, System.nanoTime() - start);
+    }
+
+    private void writeField(final Writer out, final String value) throws IOException {
+        var quote = value.isEmpty();
+        for(var i = 0; i < value.length() && !quote; i++) {
+            final var c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\r' || c == '\n';
+        }
+        if(!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for(var i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if(c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("delimiter", delimiter)
+                .append("header", header)
+                .append("batchSize", batchSize)
+                .append("fetchSize", fetchSize)
+                .toString();
+    }
+
+    /** The number of rows that were transferred and the time the transfer took. */
+    public static final class Result {
+        private final long rows;
+        private final long nanos;
+
+        private Result(final long rows, final long nanos) {
+            this.rows = rows;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the number of rows that were transferred.
+         * @return the row count
+         */
+        public long getRows() { return rows; }
+
+        /**
+         * Returns the time the transfer took.
+         * @param unit the time unit to return the time in
+         * @return the elapsed time
+         */
+        public long getElapsed(final TimeUnit unit) { return unit.convert(nanos, TimeUnit.NANOSECONDS); }
+
+        /**
+         * Returns the throughput of the transfer.
+         * @return the number of rows transferred per second
+         */
+        public double getRowsPerSecond() { return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos; }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("rows", rows)
+                    .append("elapsedMillis", getElapsed(TimeUnit.MILLISECONDS))
+                    .append("rowsPerSecond", String.format("%.1f", getRowsPerSecond()))
+                    .toString();
+        }
+    }
+
+    /** Reads one record at a time from the CSV text. */
+    private static final class Parser {
+        private final Reader in;
+        private final char delimiter;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private long recordNumber;
+
+        private Parser(final Reader in, final char delimiter) {
+            this.in = in;
+            this.delimiter = delimiter;
+        }
+
+        private long getRecordNumber() { return recordNumber; }
+
+        private int read() throws IOException {
+            if(position == limit) {
+                limit = in.read(buffer);
+                position = 0;
+                if(limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            final var c = read();
+            if(c != -1) position--;
+            return c;
+        }
+
+        /**
+         * Reads the next record.
+         * @return the fields of the record, null at the end of the text
+         */
+        private List<String> next() throws IOException {
+            var c = read();
+            //Skip blank lines between records
+            while(c == '\r' || c == '\n') c = read();
+            if(c == -1) return null;
+            recordNumber++;
+            final var fields = new ArrayList<String>();
+            final var field = new StringBuilder();
+            var quoted = false;
+            while(true) {
+                if(c == '"' && field.length() == 0 && !quoted) {
+                    quoted = true;
+                    while(true) {
+                        c = read();
+                        if(c == -1) {
+                            throw new IOException("Unterminated Quoted Field In Record " + recordNumber + '!');
+                        }
+                        if(c == '"') {
+                            if(peek() != '"') break;
+                            read();
+                        }
+                        field.append((char) c);
+                    }
+                } else if(c == delimiter || c == '\r' || c == '\n' || c == -1) {
+                    fields.add(field.length() == 0 && !quoted ? null : field.toString());
+                    field.setLength(0);
+                    quoted = false;
+                    if(c != delimiter) {
+                        if(c == '\r' && peek() == '\n') read();
+                        return fields;
+                    }
+                } else field.append((char) c);
+                c = read();
+            }
+        }
+    }
+}
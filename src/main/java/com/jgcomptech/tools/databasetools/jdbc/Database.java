@@ -6,6 +6,7 @@ import com.jgcomptech.tools.dialogs.MessageBox;
 import com.jgcomptech.tools.dialogs.MessageBoxButtons;
 import com.jgcomptech.tools.dialogs.MessageBoxIcon;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.DelegatingConnection;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -14,8 +15,19 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Database object that allows communication with a SQL database.
@@ -28,10 +40,14 @@ public final class Database implements AutoCloseable {
     private final String dbName;
     private final DatabaseType dbType;
     private String dbDriver;
+    private final ConnectionPoolSettings poolSettings;
+    private final PerformanceProfile performanceProfile;
     private Info info;
     private Connection connection;
     private Tasks tasks;
     private Settings settings;
+    private AsyncDatabase async;
+    private final QueryCache queryCache = new QueryCache(this);
 
     /**
      * Creates a database object with the specified parameters.
@@ -44,6 +60,42 @@ public final class Database implements AutoCloseable {
      */
     public Database(final String dbFilePath, final String username,
                     final String password, final DatabaseType type) throws SQLException {
+        this(dbFilePath, username, password, type, null);
+    }
+
+    /**
+     * Creates a database object with the specified parameters.
+     * @param dbFilePath File path to the database to connect to
+     * @param username Username to use to connect to the database, ignored if blank
+     * @param password Password to use to connect to the database, ignored if blank
+     * @param type The database type
+     * @param poolSettings the connection pool settings, if null a single connection is shared by all operations,
+     *                     the settings are copied so later changes to them are ignored
+     * @throws SQLException if initial connection fails
+     * @since 1.6.0
+     */
+    public Database(final String dbFilePath, final String username,
+                    final String password, final DatabaseType type,
+                    final ConnectionPoolSettings poolSettings) throws SQLException {
+        this(dbFilePath, username, password, type, poolSettings, null);
+    }
+
+    /**
+     * Creates a database object with the specified parameters.
+     * @param dbFilePath File path to the database to connect to
+     * @param username Username to use to connect to the database, ignored if blank
+     * @param password Password to use to connect to the database, ignored if blank
+     * @param type The database type
+     * @param poolSettings the connection pool settings, if null a single connection is shared by all operations,
+     *                     the settings are copied so later changes to them are ignored
+     * @param performanceProfile the tuning settings applied on connect, if null the driver defaults are used
+     * @throws SQLException if initial connection fails
+     * @since 1.6.0
+     */
+    public Database(final String dbFilePath, final String username,
+                    final String password, final DatabaseType type,
+                    final ConnectionPoolSettings poolSettings,
+                    final PerformanceProfile performanceProfile) throws SQLException {
         if(dbFilePath == null || dbFilePath.trim().isEmpty()) {
             throw new IllegalArgumentException("DB File Path Cannot Be Empty!");
         }
@@ -65,6 +117,8 @@ public final class Database implements AutoCloseable {
 
         this.username = username;
         this.password = password;
+        this.poolSettings = poolSettings == null ? null : poolSettings.copy();
+        this.performanceProfile = performanceProfile;
 
         dbName = connString.substring(connString.lastIndexOf("/") + 1);
 
@@ -86,7 +140,8 @@ public final class Database implements AutoCloseable {
      * @throws SQLException if initial connection fails
      */
     public Database(final DatabaseConnectionInfo info) throws SQLException {
-        this(info.getPath(), info.getUsername(), info.getPassword(), info.getDBType());
+        this(info.getPath(), info.getUsername(), info.getPassword(), info.getDBType(), info.getPoolSettings(),
+                info.getPerformanceProfile());
     }
 
     /**
@@ -112,6 +167,8 @@ public final class Database implements AutoCloseable {
                 .append(dbName, database.dbName)
                 .append(dbType, database.dbType)
                 .append(dbDriver, database.dbDriver)
+                .append(poolSettings, database.poolSettings)
+                .append(performanceProfile, database.performanceProfile)
                 .append(info, database.info)
                 .append(connection, database.connection)
                 .append(tasks, database.tasks)
@@ -127,6 +184,8 @@ public final class Database implements AutoCloseable {
                 .append(dbName)
                 .append(dbType)
                 .append(dbDriver)
+                .append(poolSettings)
+                .append(performanceProfile)
                 .append(info)
                 .append(connection)
                 .append(tasks)
@@ -142,6 +201,8 @@ public final class Database implements AutoCloseable {
                 .append("dbName", dbName)
                 .append("dbType", dbType)
                 .append("dbDriver", dbDriver)
+                .append("poolSettings", poolSettings)
+                .append("performanceProfile", performanceProfile)
                 .append("info", info)
                 .append("connection", connection)
                 .append("tasks", tasks)
@@ -152,12 +213,443 @@ public final class Database implements AutoCloseable {
     /** The object that stores tasks related to the connection, use {@link #getConnection} to access methods. */
     public final class Connection {
         private java.sql.Connection conn;
+        private BasicDataSource pool;
+        private final StatementCache statementCache = new StatementCache(0);
+        private final StatementStats statementStats = new StatementStats();
+        private final ThreadLocal<Transaction> transaction = new ThreadLocal<>();
+        private final Set<java.sql.Connection> transactionConnections = ConcurrentHashMap.newKeySet();
+        private final ReentrantLock writerLock = new ReentrantLock(true);
+        private final ThreadLocal<java.sql.Connection> threadConnection = new ThreadLocal<>();
+        private final Map<java.sql.Connection, Thread> threadConnections = new ConcurrentHashMap<>();
+        private final ThreadLocal<int[]> scopeDepth = ThreadLocal.withInitial(() -> new int[1]);
+        private volatile int queryTimeout;
         /**
          * Returns the raw {@code java.sql.Connection} object.
+         * In pooled mode this is a dedicated connection that is not part of the pool,
+         * it also keeps in-memory databases alive while the pool is idle.
+         * If the read/write split is enabled this is the writer connection.
          * @return the Connection object
          */
         public java.sql.Connection getObject() { return conn; }
 
+        /**
+         * Checks if operations borrow connections from a connection pool.
+         * @return true if the pooled connection mode is enabled
+         * @since 1.6.0
+         */
+        public boolean isPooled() { return pool != null; }
+
+        /**
+         * Checks if queries borrow connections from the pool while writes run on the single writer connection.
+         * @return true if the read/write split is enabled
+         * @see ConnectionPoolSettings#setReadWriteSplit
+         * @since 1.6.0
+         */
+        public boolean isReadWriteSplit() { return pool != null && poolSettings.isReadWriteSplit(); }
+
+        /**
+         * Checks if each thread keeps the pooled connection it borrowed until its scope ends.
+         * @return true if connections are confined to threads
+         * @see ConnectionPoolSettings#setThreadConfined
+         * @since 1.6.0
+         */
+        public boolean isThreadConfined() { return pool != null && poolSettings.isThreadConfined(); }
+
+        /**
+         * Opens a scope on the current thread, if connections are confined to threads the connection
+         * the thread borrows is kept until the outermost scope is closed and then returned to the pool.
+         * Threads that never open a scope keep their connection until they terminate.
+         * @return the scope to close when the work of the thread is done
+         * @since 1.6.0
+         */
+        public ConnectionScope openScope() {
+            scopeDepth.get()[0]++;
+            return new ConnectionScope(this);
+        }
+
+        /**
+         * Ends a scope of the current thread and returns the connection of the thread to the pool
+         * once the outermost scope has ended. If a transaction is still active its connection
+         * is returned when the transaction ends.
+         * @throws SQLException if a database access error occurs
+         */
+        void endScope() throws SQLException {
+            if(--scopeDepth.get()[0] > 0) return;
+            scopeDepth.remove();
+            final var connection = threadConnection.get();
+            threadConnection.remove();
+            if(connection == null || threadConnections.remove(connection) == null) return;
+            if(!transactionConnections.contains(connection)) connection.close();
+        }
+
+        /**
+         * Returns the connection that is confined to the current thread, the connection is borrowed
+         * from the pool the first time the thread needs one.
+         * @return the connection of the current thread
+         * @throws SQLException if a database access error occurs or the borrow timeout elapses
+         */
+        private java.sql.Connection threadConnection() throws SQLException {
+            var connection = threadConnection.get();
+            //The connection is no longer bound if the database has been disconnected since
+            if(connection != null && threadConnections.containsKey(connection)) return connection;
+            closeTerminatedThreadConnections();
+            connection = pool.getConnection();
+            threadConnection.set(connection);
+            threadConnections.put(connection, Thread.currentThread());
+            return connection;
+        }
+
+        /** Returns the connections of threads that terminated without closing their scope to the pool. */
+        private void closeTerminatedThreadConnections() {
+            for(final var entry : threadConnections.entrySet()) {
+                if(!entry.getValue().isAlive() && threadConnections.remove(entry.getKey()) != null) {
+                    try {
+                        entry.getKey().close();
+                    } catch(final SQLException e) {
+                        //The pool discards a connection that fails to close
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the performance profile that was applied when the database connected.
+         * @return the performance profile, null if the driver defaults are used
+         * @since 1.6.0
+         */
+        public PerformanceProfile getPerformanceProfile() { return performanceProfile; }
+
+        /**
+         * Returns the number of pooled connections that are currently borrowed.
+         * @return the number of active connections, 0 if the pooled connection mode is disabled
+         * @since 1.6.0
+         */
+        public int getNumActive() { return pool == null ? 0 : pool.getNumActive(); }
+
+        /**
+         * Returns the number of pooled connections that are currently idle.
+         * @return the number of idle connections, 0 if the pooled connection mode is disabled
+         * @since 1.6.0
+         */
+        public int getNumIdle() { return pool == null ? 0 : pool.getNumIdle(); }
+
+        /**
+         * Returns the maximum number of connections that operations can use at the same time.
+         * @return the max total of the pool settings, 1 if the pooled connection mode is disabled
+         * @since 1.6.0
+         */
+        public int getMaxConnections() { return poolSettings == null ? 1 : poolSettings.getMaxTotal(); }
+
+        /**
+         * Returns the prepared statement cache, the cache is disabled until a size is set
+         * with {@link #setStatementCacheSize}.
+         * @return the prepared statement cache
+         * @since 1.6.0
+         */
+        public StatementCache getStatementCache() { return statementCache; }
+
+        /**
+         * Sets the number of idle prepared statements that are cached per connection.
+         * Statements are keyed by their SQL text so repeated statements skip preparation.
+         * @param size the maximum number of statements per connection, 0 disables the cache
+         * @since 1.6.0
+         */
+        public void setStatementCacheSize(final int size) { statementCache.setMaxSize(size); }
+
+        /**
+         * Returns the default number of seconds a statement may run before it is cancelled by the driver.
+         * @return the timeout in seconds, 0 if statements may run indefinitely
+         * @since 1.6.0
+         */
+        public int getQueryTimeout() { return queryTimeout; }
+
+        /**
+         * Sets the default number of seconds a statement may run before it is cancelled by the driver,
+         * the timeout is applied to every statement that is prepared after this call.
+         * A statement that runs too long fails with an {@code SQLException} and its connection
+         * is freed for the next statement, a single statement can override the default
+         * with {@link TypedStatement#setQueryTimeout}.
+         * @param seconds the timeout in seconds, 0 to let statements run indefinitely
+         * @throws IllegalArgumentException if the timeout is negative
+         * @since 1.6.0
+         */
+        public void setQueryTimeout(final int seconds) {
+            if(seconds < 0) throw new IllegalArgumentException("Query Timeout Cannot Be Negative!");
+            queryTimeout = seconds;
+        }
+
+        /**
+         * Returns the statement statistics, statements are only recorded once
+         * {@link StatementStats#setEnabled} is called.
+         * @return the statement statistics
+         * @since 1.6.0
+         */
+        public StatementStats getStatementStats() { return statementStats; }
+
+        /**
+         * Returns a connection to run a single operation on, in pooled mode the connection is borrowed
+         * from the pool and must be handed back with {@link #release}.
+         * @return the connection to use
+         * @throws SQLException if a database access error occurs or the borrow timeout elapses
+         * @since 1.6.0
+         */
+        public java.sql.Connection acquire() throws SQLException {
+            final var current = transaction.get();
+            if(current != null) return current.getConnection();
+            if(pool == null) return conn;
+            return isThreadConfined() ? threadConnection() : pool.getConnection();
+        }
+
+        /**
+         * Returns a connection to run a single write operation on, if the read/write split is enabled
+         * this is the writer connection and the current thread has exclusive use of it
+         * until it is handed back with {@link #release}, otherwise this is the same as {@link #acquire}.
+         * @return the connection to use
+         * @throws SQLException if a database access error occurs or the borrow timeout elapses
+         * @since 1.6.0
+         */
+        public java.sql.Connection acquireWriter() throws SQLException {
+            final var current = transaction.get();
+            if(current != null) return current.getConnection();
+            if(!isReadWriteSplit()) return acquire();
+            lockWriter();
+            return conn;
+        }
+
+        private void lockWriter() throws SQLException {
+            final var maxWait = poolSettings.getMaxWaitMillis();
+            if(maxWait < 0) writerLock.lock();
+            else {
+                try {
+                    if(!writerLock.tryLock(maxWait, TimeUnit.MILLISECONDS)) {
+                        throw new SQLException("Timed Out Waiting For The Writer Connection!");
+                    }
+                } catch(final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted While Waiting For The Writer Connection!", e);
+                }
+            }
+        }
+
+        /**
+         * Returns the transaction that is active on the current thread.
+         * @return the active transaction, null if operations run in auto-commit mode
+         * @since 1.6.0
+         */
+        public Transaction getTransaction() { return transaction.get(); }
+
+        /**
+         * Starts a transaction on the current thread.
+         * @param isolationLevel the isolation level, -1 to keep the default of the connection
+         * @return the new transaction
+         * @throws SQLException if a database access error occurs
+         */
+        private Transaction beginTransaction(final int isolationLevel) throws SQLException {
+            if(transaction.get() != null) throw new IllegalStateException("Transaction Already Active!");
+            final var split = isReadWriteSplit();
+            if(split) lockWriter();
+            final var connection = pool == null || split ? conn
+                    : isThreadConfined() ? threadConnection() : pool.getConnection();
+            try {
+                final var tx = new Transaction(Database.this, connection, isolationLevel);
+                transactionConnections.add(connection);
+                transaction.set(tx);
+                return tx;
+            } catch(final SQLException e) {
+                if(connection != conn && !threadConnections.containsKey(connection)) connection.close();
+                if(split) writerLock.unlock();
+                throw e;
+            }
+        }
+
+        /**
+         * Unbinds the specified transaction and releases its connection.
+         * @param tx the transaction that has ended
+         * @throws SQLException if a database access error occurs
+         */
+        void endTransaction(final Transaction tx) throws SQLException {
+            if(transaction.get() == tx) transaction.remove();
+            transactionConnections.remove(tx.getConnection());
+            release(tx.getConnection());
+        }
+
+        /**
+         * Hands back a connection returned by {@link #acquire}, pooled connections are returned to the pool
+         * and the shared connection is left open.
+         * @param connection the connection to release
+         * @throws SQLException if a database access error occurs
+         * @since 1.6.0
+         */
+        public void release(final java.sql.Connection connection) throws SQLException {
+            //The connection of a transaction is released when the transaction ends
+            //and the connection of a thread when its scope ends
+            if(connection == null || transactionConnections.contains(connection)
+                    || threadConnections.containsKey(connection)) return;
+            if(connection != conn) connection.close();
+            else if(writerLock.isHeldByCurrentThread()) writerLock.unlock();
+        }
+
+        /**
+         * Creates a {@code PreparedStatement} object on a connection returned by {@link #acquire}
+         * using the result-set type that is supported by the database type.
+         * In pooled mode the connection is returned to the pool when the statement is closed.
+         * @param sql a {@code String} object that is the SQL statement to be sent to the database
+         * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
+         * @throws SQLException if a database access error occurs
+         * @since 1.6.0
+         */
+        public PreparedStatement prepareStatement(final String sql) throws SQLException {
+            return prepareStatement(sql, dbType == DatabaseType.SQLite
+                    ? ResultSet.TYPE_FORWARD_ONLY
+                    : ResultSet.TYPE_SCROLL_INSENSITIVE);
+        }
+
+        /**
+         * Creates a {@code PreparedStatement} object on a connection returned by {@link #acquire}
+         * using the specified result-set type.
+         * A forward only result-set lets the driver fetch rows as they are read instead of all at once.
+         * In pooled mode the connection is returned to the pool when the statement is closed.
+         * @param sql a {@code String} object that is the SQL statement to be sent to the database
+         * @param resultSetType a result-set type, one of {@code ResultSet.TYPE_FORWARD_ONLY},
+         * {@code ResultSet.TYPE_SCROLL_INSENSITIVE} or {@code ResultSet.TYPE_SCROLL_SENSITIVE}
+         * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
+         * @throws SQLException if a database access error occurs
+         * @since 1.6.0
+         */
+        public PreparedStatement prepareStatement(final String sql, final int resultSetType) throws SQLException {
+            return prepareStatement(sql, resultSetType, false, acquire());
+        }
+
+        /**
+         * Creates a {@code PreparedStatement} object for a statement that writes to the database
+         * on a connection returned by {@link #acquireWriter}
+         * using the result-set type that is supported by the database type.
+         * If the read/write split is enabled the writer connection is handed back when the statement is closed.
+         * @param sql a {@code String} object that is the SQL statement to be sent to the database
+         * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
+         * @throws SQLException if a database access error occurs
+         * @since 1.6.0
+         */
+        public PreparedStatement prepareWriteStatement(final String sql) throws SQLException {
+            return prepareWriteStatement(sql, dbType == DatabaseType.SQLite
+                    ? ResultSet.TYPE_FORWARD_ONLY
+                    : ResultSet.TYPE_SCROLL_INSENSITIVE);
+        }
+
+        /**
+         * Creates a {@code PreparedStatement} object for a statement that writes to the database
+         * on a connection returned by {@link #acquireWriter} using the specified result-set type.
+         * If the read/write split is enabled the writer connection is handed back when the statement is closed.
+         * @param sql a {@code String} object that is the SQL statement to be sent to the database
+         * @param resultSetType a result-set type, one of {@code ResultSet.TYPE_FORWARD_ONLY},
+         * {@code ResultSet.TYPE_SCROLL_INSENSITIVE} or {@code ResultSet.TYPE_SCROLL_SENSITIVE}
+         * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
+         * @throws SQLException if a database access error occurs
+         * @since 1.6.0
+         */
+        public PreparedStatement prepareWriteStatement(final String sql, final int resultSetType)
+                throws SQLException {
+            return prepareStatement(sql, resultSetType, false, acquireWriter());
+        }
+
+        /**
+         * Creates a {@code PreparedStatement} object for an INSERT statement that makes the keys generated
+         * by the database available through {@code getGeneratedKeys}, on a connection returned by
+         * {@link #acquireWriter}.
+         * If the read/write split is enabled the writer connection is handed back when the statement is closed.
+         * @param sql a {@code String} object that is the SQL statement to be sent to the database
+         * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
+         * @throws SQLException if a database access error occurs
+         * @since 1.6.0
+         */
+        public PreparedStatement prepareStatementReturningKeys(final String sql) throws SQLException {
+            return prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, true, acquireWriter());
+        }
+
+        private PreparedStatement prepareStatement(final String sql,
+                                                   final int resultSetType,
+                                                   final boolean returnGeneratedKeys,
+                                                   final java.sql.Connection connection) throws SQLException {
+            try {
+                if(statementCache.isEnabled()) {
+                    final var target = unwrap(connection);
+                    final var key = (returnGeneratedKeys ? "keys" : resultSetType) + ":" + sql;
+                    var stmt = statementCache.take(target, key);
+                    if(stmt == null) stmt = prepare(target, sql, resultSetType, returnGeneratedKeys);
+                    applyDefaultQueryTimeout(stmt);
+                    return ManagedStatement.wrap(this, connection, stmt, sql, statementCache, target, key);
+                }
+                final var stmt = prepare(connection, sql, resultSetType, returnGeneratedKeys);
+                applyDefaultQueryTimeout(stmt);
+                return (connection == conn && !isReadWriteSplit() || threadConnections.containsKey(connection))
+                        && !statementStats.isEnabled() && !(isQueryTimeoutEmulated() && queryTimeout > 0)
+                        ? stmt
+                        : ManagedStatement.wrap(this, connection, stmt, sql);
+            } catch(final SQLException e) {
+                release(connection);
+                throw e;
+            }
+        }
+
+        /**
+         * Sets the default timeout on the statement, a cached statement may still have the timeout
+         * of its previous use and H2 keeps the timeout on the connection instead of the statement.
+         * Emulated timeouts are set by {@link ManagedStatement} instead.
+         * @param stmt the statement to set the timeout on
+         * @throws SQLException if a database access error occurs
+         */
+        private void applyDefaultQueryTimeout(final PreparedStatement stmt) throws SQLException {
+            if(!isQueryTimeoutEmulated() && stmt.getQueryTimeout() != queryTimeout) {
+                stmt.setQueryTimeout(queryTimeout);
+            }
+        }
+
+        /**
+         * Sets the number of seconds a statement prepared by this connection may run before it is cancelled,
+         * the returned statement must be used from then on.
+         * On SQLite a statement is only wrapped to enforce the timeout if a timeout is needed,
+         * so a statement without a timeout is wrapped by this method when a timeout is set on it.
+         * @param stmt a statement prepared by this connection
+         * @param seconds the timeout in seconds, 0 to let the statement run indefinitely
+         * @return the statement that enforces the timeout
+         * @throws SQLException if a database access error occurs
+         * @throws IllegalArgumentException if the statement is null or the timeout is negative
+         * @since 1.6.0
+         */
+        public PreparedStatement withQueryTimeout(final PreparedStatement stmt, final int seconds)
+                throws SQLException {
+            if(stmt == null) throw new IllegalArgumentException("Statement Cannot Be Null!");
+            if(seconds < 0) throw new IllegalArgumentException("Query Timeout Cannot Be Negative!");
+            var managed = stmt;
+            if(isQueryTimeoutEmulated() && !ManagedStatement.isWrapped(stmt)) {
+                if(seconds == 0) return stmt;
+                //Unwrapped statements run on connections that stay open when the statement is closed
+                managed = ManagedStatement.wrap(this, null, stmt, null);
+                if(stmt.isCloseOnCompletion()) managed.closeOnCompletion();
+            }
+            managed.setQueryTimeout(seconds);
+            return managed;
+        }
+
+        /**
+         * Checks if query timeouts are enforced by {@link ManagedStatement} instead of the driver,
+         * the SQLite driver uses the query timeout as the busy timeout of the connection
+         * and does not stop a running statement.
+         * Statements are only wrapped for the timeout if the default timeout is set
+         * or a timeout is set with {@link #withQueryTimeout}.
+         * @return true for SQLite
+         */
+        boolean isQueryTimeoutEmulated() { return dbType == DatabaseType.SQLite; }
+
+        private PreparedStatement prepare(final java.sql.Connection connection,
+                                          final String sql,
+                                          final int resultSetType,
+                                          final boolean returnGeneratedKeys) throws SQLException {
+            return returnGeneratedKeys
+                    ? connection.prepareStatement(sql, java.sql.Statement.RETURN_GENERATED_KEYS)
+                    : connection.prepareStatement(sql, resultSetType, ResultSet.CONCUR_READ_ONLY);
+        }
+
         /**
          * Connects to the database and shows a retry dialog message box if the connection fails.
          * @throws SQLException if error occurs
@@ -176,8 +668,14 @@ public final class Database implements AutoCloseable {
                 ds.setUrl(connString);
                 ds.setUsername(username);
                 ds.setPassword(password);
+                if(performanceProfile != null) {
+                    ds.setConnectionInitSqls(performanceProfile.getConnectionSql(dbType));
+                }
 
                 conn = ds.getConnection();
+                if(performanceProfile != null) applyDatabaseSettings();
+
+                if(poolSettings != null && pool == null) pool = createPool();
 
                 if(showStatusAlert) MessageBox.show("Connection to database has been established.",
                         "Database Alert", "Database Alert", MessageBoxIcon.INFORMATION);
@@ -202,7 +700,67 @@ public final class Database implements AutoCloseable {
          * resources, shows message box on error.
          * @throws SQLException if error occurs
          */
-        public void disconnect() throws SQLException { if(isConnected()) conn.close(); }
+        public void disconnect() throws SQLException {
+            try {
+                statementCache.clear();
+                for(final var connection : threadConnections.keySet()) {
+                    if(threadConnections.remove(connection) != null) connection.close();
+                }
+                if(pool != null) pool.close();
+            } finally {
+                pool = null;
+                if(isConnected()) conn.close();
+            }
+        }
+
+        private void applyDatabaseSettings() throws SQLException {
+            try(final var stmt = conn.createStatement()) {
+                for(final var sql : performanceProfile.getDatabaseSql(dbType)) stmt.execute(sql);
+            } catch(final SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns the physical connection behind a pooled connection, statements prepared on it
+         * are not closed by the pool when the connection is returned so they can be cached.
+         * @param connection the connection to unwrap
+         * @return the physical connection
+         */
+        private java.sql.Connection unwrap(final java.sql.Connection connection) {
+            if(connection instanceof DelegatingConnection) {
+                final var inner = ((DelegatingConnection<?>) connection).getInnermostDelegate();
+                if(inner != null) return inner;
+            }
+            return connection;
+        }
+
+        private BasicDataSource createPool() throws SQLException {
+            final var ds = new BasicDataSource();
+            ds.setDriverClassName(dbDriver);
+            ds.setUrl(connString);
+            ds.setUsername(username);
+            ds.setPassword(password);
+            ds.setMinIdle(poolSettings.getMinIdle());
+            ds.setMaxIdle(poolSettings.getMaxIdle());
+            ds.setMaxTotal(poolSettings.getMaxTotal());
+            ds.setMaxWaitMillis(poolSettings.getMaxWaitMillis());
+            if(!poolSettings.getValidationQuery().trim().isEmpty()) {
+                ds.setValidationQuery(poolSettings.getValidationQuery());
+            }
+            ds.setTestOnBorrow(true);
+            if(performanceProfile != null) ds.setConnectionInitSqls(performanceProfile.getConnectionSql(dbType));
+            ds.setAccessToUnderlyingConnectionAllowed(true);
+            try {
+                //Borrows the first connection so that configuration errors are thrown on connect
+                ds.getConnection().close();
+            } catch(final SQLException e) {
+                ds.close();
+                throw e;
+            }
+            return ds;
+        }
 
         /**
          * Checks if a connection is open to the database.
@@ -243,13 +801,22 @@ public final class Database implements AutoCloseable {
      * Returns info about the database.
      * @return instance of the Info class
      */
-    public Info getInfo() {
+    public synchronized Info getInfo() {
         if(info == null) info = new Info();
         return info;
     }
 
-    /** The object that stores the database info, use {@link #getInfo} to access methods. */
+    /**
+     * The object that stores the database info, use {@link #getInfo} to access methods.
+     * The names of the tables, columns and indexes are read from the database metadata once and cached,
+     * the cache is refreshed when a table or index is created by this library, use {@link #refresh}
+     * after changing the schema in any other way.
+     */
     public final class Info {
+        /** The table names keyed by their upper case name, null until loaded. */
+        private volatile Map<String, String> tables;
+        private final Map<String, List<String>> columns = new ConcurrentHashMap<>();
+        private final Map<String, List<String>> indexes = new ConcurrentHashMap<>();
 
         /**
          * Returns the name of the database.
@@ -276,20 +843,7 @@ public final class Database implements AutoCloseable {
          * @throws SQLException if error occurs
          */
         public boolean tableExists(final String tableName) throws SQLException {
-            var tExists = false;
-
-            final String[] types = {"TABLE", "Table", "table"};
-            final var md = connection.getObject().getMetaData();
-            try (final var rs = md.getTables(null, null, null, types)) {
-                while (rs.next()) {
-                    final var tName = rs.getString("TABLE_NAME");
-                    if (tName != null && tName.equalsIgnoreCase(tableName)) {
-                        tExists = true;
-                        break;
-                    }
-                }
-            }
-            return tExists;
+            return tableName != null && getTables().containsKey(tableName.toUpperCase(Locale.ENGLISH));
         }
 
         /**
@@ -297,25 +851,188 @@ public final class Database implements AutoCloseable {
          * @return ArrayList of tables
          * @throws SQLException if error occurs
          */
-        public ArrayList getTablesList() throws SQLException {
-            final ArrayList<String> listOfTables = new ArrayList<>();
+        public ArrayList getTablesList() throws SQLException { return new ArrayList<>(getTables().values()); }
+
+        /**
+         * Checks to see if the specified column exists in the specified table.
+         * @param tableName table name to check
+         * @param columnName column name to check
+         * @return true if exists
+         * @throws SQLException if error occurs
+         * @since 1.6.0
+         */
+        public boolean columnExists(final String tableName, final String columnName) throws SQLException {
+            return columnName != null && getColumnsList(tableName).stream().anyMatch(columnName::equalsIgnoreCase);
+        }
+
+        /**
+         * Returns a list of all columns in the specified table in the order they are defined.
+         * @param tableName table name to lookup
+         * @return an unmodifiable list of column names, empty if the table does not exist
+         * @throws SQLException if error occurs
+         * @since 1.6.0
+         */
+        public List<String> getColumnsList(final String tableName) throws SQLException {
+            final var tName = getTableName(tableName);
+            if(tName == null) return List.of();
+            final var list = columns.get(tName.toUpperCase(Locale.ENGLISH));
+            return list == null ? loadMetaData(columns, tName, true) : list;
+        }
+
+        /**
+         * Checks to see if the specified index exists on the specified table.
+         * @param tableName table name to check
+         * @param indexName index name to check
+         * @return true if exists
+         * @throws SQLException if error occurs
+         * @since 1.6.0
+         */
+        public boolean indexExists(final String tableName, final String indexName) throws SQLException {
+            return indexName != null && getIndexesList(tableName).stream().anyMatch(indexName::equalsIgnoreCase);
+        }
+
+        /**
+         * Returns a list of all indexes on the specified table.
+         * @param tableName table name to lookup
+         * @return an unmodifiable list of index names, empty if the table does not exist
+         * @throws SQLException if error occurs
+         * @since 1.6.0
+         */
+        public List<String> getIndexesList(final String tableName) throws SQLException {
+            final var tName = getTableName(tableName);
+            if(tName == null) return List.of();
+            final var list = indexes.get(tName.toUpperCase(Locale.ENGLISH));
+            return list == null ? loadMetaData(indexes, tName, false) : list;
+        }
+
+        /**
+         * Clears the cached table, column and index names so they are read from the database
+         * on the next lookup, this needs to be called if the schema is changed outside of this library.
+         * @since 1.6.0
+         */
+        public synchronized void refresh() {
+            tables = null;
+            columns.clear();
+            indexes.clear();
+        }
+
+        private String getTableName(final String tableName) throws SQLException {
+            return tableName == null ? null : getTables().get(tableName.toUpperCase(Locale.ENGLISH));
+        }
+
+        private Map<String, String> getTables() throws SQLException {
+            final var current = tables;
+            return current == null ? loadTables() : current;
+        }
 
-            final String[] types = {"TABLE", "Table", "table"};
-            final var md = connection.getObject().getMetaData();
-            try (final var rs = md.getTables(null, null, null, types)) {
+        private synchronized Map<String, String> loadTables() throws SQLException {
+            if(tables == null) {
+                final Map<String, String> loaded = new LinkedHashMap<>();
+                final String[] types = {"TABLE", "Table", "table"};
+                final var conn = getConnection().acquire();
+                try (final var rs = conn.getMetaData().getTables(null, null, null, types)) {
+                    while (rs.next()) {
+                        final var tName = rs.getString("TABLE_NAME");
+                        if(tName != null) loaded.put(tName.toUpperCase(Locale.ENGLISH), tName);
+                    }
+                } finally {
+                    getConnection().release(conn);
+                }
+                tables = Collections.unmodifiableMap(loaded);
+            }
+            return tables;
+        }
+
+        private synchronized List<String> loadMetaData(final Map<String, List<String>> cache,
+                                                       final String tableName,
+                                                       final boolean readColumns) throws SQLException {
+            final var key = tableName.toUpperCase(Locale.ENGLISH);
+            if(cache.containsKey(key)) return cache.get(key);
+            final List<String> names = new ArrayList<>();
+            final var conn = getConnection().acquire();
+            try (final var rs = readColumns
+                    ? conn.getMetaData().getColumns(null, null, tableName, null)
+                    : conn.getMetaData().getIndexInfo(null, null, tableName, false, true)) {
                 while (rs.next()) {
-                    listOfTables.add(rs.getString("TABLE_NAME"));
+                    final var name = rs.getString(readColumns ? "COLUMN_NAME" : "INDEX_NAME");
+                    if(name != null && !names.contains(name)) names.add(name);
                 }
+            } finally {
+                getConnection().release(conn);
             }
-            return listOfTables;
+            final var list = Collections.unmodifiableList(names);
+            cache.put(key, list);
+            return list;
         }
     }
 
+    /**
+     * Starts a transaction on the current thread using the default isolation level of the connection.
+     * @return the new transaction
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if a transaction is already active on the current thread
+     * @see #beginTransaction(int)
+     * @since 1.6.0
+     */
+    public Transaction beginTransaction() throws SQLException { return connection.beginTransaction(-1); }
+
+    /**
+     * Starts a transaction on the current thread with the specified isolation level.
+     * All builder, task and settings operations that run on the current thread join the transaction
+     * until it is committed or rolled back, closing the transaction without committing rolls it back.
+     * In pooled mode the transaction uses its own connection, otherwise the single shared connection
+     * is used so operations from other threads also become part of the transaction.
+     * If the read/write split is enabled the transaction holds the writer connection until it ends.
+     * @param isolationLevel one of the {@code java.sql.Connection.TRANSACTION_*} isolation levels
+     * @return the new transaction
+     * @throws SQLException if a database access error occurs or the isolation level is not supported
+     * @throws IllegalStateException if a transaction is already active on the current thread
+     * @since 1.6.0
+     */
+    public Transaction beginTransaction(final int isolationLevel) throws SQLException {
+        if(isolationLevel != java.sql.Connection.TRANSACTION_READ_UNCOMMITTED
+                && isolationLevel != java.sql.Connection.TRANSACTION_READ_COMMITTED
+                && isolationLevel != java.sql.Connection.TRANSACTION_REPEATABLE_READ
+                && isolationLevel != java.sql.Connection.TRANSACTION_SERIALIZABLE) {
+            throw new IllegalArgumentException("Invalid Isolation Level!");
+        }
+        return connection.beginTransaction(isolationLevel);
+    }
+
+    /**
+     * Reloads the cached schema and settings after a rollback may have undone changes.
+     * @throws SQLException if a database access error occurs
+     */
+    void afterRollback() throws SQLException {
+        queryCache.invalidateAll();
+        getInfo().refresh();
+        if(settings != null && settings.isCacheEnabled()) settings.refreshCache();
+    }
+
+    /**
+     * Returns the query result cache, the cache is disabled until {@link QueryCache#enable} is called
+     * and only queries that opt in with {@link QueryBuilder#useCache} are cached.
+     * @return the query result cache
+     * @since 1.6.0
+     */
+    public QueryCache getQueryCache() { return queryCache; }
+
+    /**
+     * Runs operations against the database on a background executor, the executor is shut down
+     * when the database is closed.
+     * @return instance of the AsyncDatabase class
+     * @since 1.6.0
+     */
+    public synchronized AsyncDatabase getAsync() {
+        if(async == null) async = new AsyncDatabase(this);
+        return async;
+    }
+
     /**
      * Runs tasks against the database.
      * @return instance of the Tasks class
      */
-    public Tasks getTasks() {
+    public synchronized Tasks getTasks() {
         if(tasks == null) tasks = new Tasks();
         return tasks;
     }
@@ -334,9 +1051,34 @@ public final class Database implements AutoCloseable {
          * {@code ResultSet} object
          */
         public ResultSet executeQuery(final String sql) throws SQLException {
-            try(final var stmt = generatePreparedStatement(sql)) {
-                stmt.closeOnCompletion();
+            return executeQuery(sql, getConnection().getQueryTimeout());
+        }
+
+        /**
+         * Executes the given SQL statement, which returns a single
+         * {@code ResultSet} object, auto-closes statement object when ResultSet object is closed.
+         * The statement is cancelled by the driver if it runs longer than the specified timeout.
+         * @param sql an SQL statement to be sent to the database, typically a
+         *        static SQL {@code SELECT} statement
+         * @param timeoutSeconds the number of seconds the statement may run, 0 to let it run indefinitely
+         * @return a {@code ResultSet} object that contains the data produced
+         *         by the given query; never {@code null}
+         * @throws SQLException if a database access error occurs, the timeout elapses or the given
+         * SQL statement produces anything other than a single
+         * {@code ResultSet} object
+         * @since 1.6.0
+         */
+        public ResultSet executeQuery(final String sql, final int timeoutSeconds) throws SQLException {
+            if(timeoutSeconds < 0) throw new IllegalArgumentException("Query Timeout Cannot Be Negative!");
+            var stmt = generatePreparedStatement(sql, false);
+            try {
+                if(timeoutSeconds != getConnection().getQueryTimeout()) {
+                    stmt = getConnection().withQueryTimeout(stmt, timeoutSeconds);
+                }
                 return stmt.executeQuery();
+            } catch(final SQLException e) {
+                stmt.close();
+                throw e;
             }
         }
 
@@ -353,9 +1095,12 @@ public final class Database implements AutoCloseable {
          * SQL statement produces a {@code ResultSet} object
          */
         public int executeUpdate(final String sql) throws SQLException {
-            try(final var stmt = generatePreparedStatement(sql)) {
+            try(final var stmt = generatePreparedStatement(sql, true)) {
                 stmt.closeOnCompletion();
                 return stmt.executeUpdate();
+            } finally {
+                //The tables written by plain sql are unknown
+                queryCache.invalidateAll();
             }
         }
 
@@ -380,8 +1125,10 @@ public final class Database implements AutoCloseable {
          * @throws SQLException if a database access error occurs
          */
         public boolean execute(final String sql) throws SQLException {
-            try(final var stmt = generatePreparedStatement(sql)) {
+            try(final var stmt = generatePreparedStatement(sql, true)) {
                 return stmt.execute();
+            } finally {
+                queryCache.invalidateAll();
             }
         }
 
@@ -389,18 +1136,16 @@ public final class Database implements AutoCloseable {
          * Creates a {@code PreparedStatement} object that will generate
          * {@code ResultSet} objects for sending SQL statements to the database.
          * @param sql a {@code String} object that is the SQL statement to be sent to the database
+         * @param write if true the statement is prepared on the writer connection
          * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
          * @throws SQLException if a database access error occurs
          */
-        private PreparedStatement generatePreparedStatement(final String sql) throws SQLException {
+        private PreparedStatement generatePreparedStatement(final String sql, final boolean write)
+                throws SQLException {
             if(sql.trim().isEmpty()) { throw new IllegalArgumentException("SQL String Not Set!"); }
-            final var resultSetType = getInfo().getDbType()
-                    == DatabaseType.SQLite
-                    ? ResultSet.TYPE_FORWARD_ONLY
-                    : ResultSet.TYPE_SCROLL_INSENSITIVE;
-            final var sqlText = sql.trim() + ';';
-            final var stmt =
-                        connection.getObject().prepareStatement(sqlText, resultSetType, ResultSet.CONCUR_READ_ONLY);
+            final var stmt = write
+                    ? getConnection().prepareWriteStatement(sql.trim() + ';')
+                    : getConnection().prepareStatement(sql.trim() + ';');
             stmt.closeOnCompletion();
             return stmt;
         }
@@ -419,10 +1164,14 @@ public final class Database implements AutoCloseable {
                 if(!suppressExistsError) throw new SQLException('"' + tableName + "\" Table Already Exists!");
                 return false;
             } else {
-                try(final var stmt = connection.getObject().createStatement()) {
+                final var conn = getConnection().acquireWriter();
+                try(final var stmt = conn.createStatement()) {
                     // createUser a new table
                     stmt.execute(query);
                     return true;
+                } finally {
+                    getConnection().release(conn);
+                    getInfo().refresh();
                 }
             }
         }
@@ -437,7 +1186,8 @@ public final class Database implements AutoCloseable {
          */
         public boolean createIndex(final String indexName, final String query, final boolean suppressExistsError)
                 throws SQLException {
-            try (final var stmt = connection.getObject().createStatement()) {
+            final var conn = getConnection().acquireWriter();
+            try (final var stmt = conn.createStatement()) {
                 // createUser a new table
                 stmt.execute(query);
                 return true;
@@ -447,11 +1197,15 @@ public final class Database implements AutoCloseable {
                     if(!suppressExistsError) throw new SQLException('"' + indexName + "\" Index Already Exists!");
                 } else throw e;
                 return false;
+            } finally {
+                getConnection().release(conn);
+                getInfo().refresh();
             }
         }
 
         /**
-         * Returns number of rows that were returned in a ResultSet object.
+         * Returns number of rows that were returned in a ResultSet object,
+         * the rows are read on the client so use {@link QueryBuilder#count} when the query is known.
          * @param rs the ResultSet object to count
          * @return number of rows in specified ResultSet
          */
@@ -467,32 +1221,140 @@ public final class Database implements AutoCloseable {
      * Allows setting and retrieval of settings values from the database.
      * @return instance of the Settings class
      */
-    public Settings getSettings() {
+    public synchronized Settings getSettings() {
         if(settings == null) settings = new Settings(this);
         return settings;
     }
 
-    /** Allows setting and retrieval of settings values from a database, use {@link #getSettings} to access methods. */
+    /**
+     * Allows setting and retrieval of settings values from a database, use {@link #getSettings} to access methods.
+     * If the cache is enabled all settings are loaded at once and reads are served from memory,
+     * values set with {@link #setValue} are written to the database and the cache.
+     */
     public static final class Settings {
         private final Database db;
         private static final String TABLE_NAME = "Settings";
         private static final String ID_FIELD = "Id";
         private static final String NAME_FIELD = "Name";
         private static final String VALUE_FIELD = "Value";
+        private static final String NAME_INDEX = "Settings_Name_Index";
+        /** The cached settings keyed by their upper case name, null if the cache is disabled. */
+        private volatile Map<String, String> cache;
+        /** Incremented when the cache is enabled or disabled so that a running reload discards its snapshot. */
+        private int generation;
+        /** The settings set while a reload is running, applied to its snapshot before it is stored. */
+        private final List<Map<String, String>> pendingWrites = new CopyOnWriteArrayList<>();
+        private ScheduledExecutorService refreshExecutor;
         private Settings(final Database db) { this.db = db; }
 
         /**
-         * Creates a Settings table in the specified database.
+         * Enables the settings cache and loads all settings into memory.
+         * Only use this without a refresh interval if no other process changes the Settings table.
+         * @throws SQLException if error occurs during query
+         * @since 1.6.0
+         */
+        public void enableCache() throws SQLException { enableCache(0, TimeUnit.MILLISECONDS); }
+
+        /**
+         * Enables the settings cache, loads all settings into memory and reloads them at the specified
+         * interval so changes made by other processes are picked up.
+         * @param refreshInterval the time between reloads, 0 to never reload
+         * @param unit the time unit of the refresh interval
+         * @throws SQLException if error occurs during query
+         * @throws IllegalArgumentException if the refresh interval is negative
+         * @since 1.6.0
+         */
+        public synchronized void enableCache(final long refreshInterval, final TimeUnit unit) throws SQLException {
+            if(refreshInterval < 0) throw new IllegalArgumentException("Refresh Interval Cannot Be Negative!");
+            stopRefresh();
+            final var expectedGeneration = ++generation;
+            loadCache(expectedGeneration);
+            if(refreshInterval > 0) {
+                refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final var thread = new Thread(runnable, "Settings-Refresh-" + db.getInfo().getName());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                refreshExecutor.scheduleWithFixedDelay(() -> {
+                    try {
+                        loadCache(expectedGeneration);
+                    } catch(final SQLException ignore) {
+                        //The current values are kept until the next reload succeeds
+                    }
+                }, refreshInterval, refreshInterval, unit);
+            }
+        }
+
+        /**
+         * Disables the settings cache, all reads go to the database again.
+         * @since 1.6.0
+         */
+        public synchronized void disableCache() {
+            stopRefresh();
+            generation++;
+            cache = null;
+        }
+
+        /**
+         * Checks if the settings cache is enabled.
+         * @return true if reads are served from memory
+         * @since 1.6.0
+         */
+        public boolean isCacheEnabled() { return cache != null; }
+
+        /**
+         * Reloads all settings from the database into the cache, enables the cache if it is disabled.
+         * The reload is discarded if {@link #disableCache} or {@link #enableCache} is called while it runs.
+         * @throws SQLException if error occurs during query
+         * @since 1.6.0
+         */
+        public void refreshCache() throws SQLException {
+            final int expectedGeneration;
+            synchronized(this) { expectedGeneration = generation; }
+            loadCache(expectedGeneration);
+        }
+
+        /**
+         * Loads all settings and stores them as the cache unless the cache was enabled or disabled in the meantime.
+         * Settings set during the load are applied to the new snapshot so they are not lost.
+         */
+        private void loadCache(final int expectedGeneration) throws SQLException {
+            final Map<String, String> writes = new HashMap<>();
+            pendingWrites.add(writes);
+            try {
+                final var loaded = new ConcurrentHashMap<>(db.getInfo().tableExists(TABLE_NAME)
+                        ? getSettingsList() : Map.of());
+                synchronized(this) {
+                    if(generation != expectedGeneration) return;
+                    loaded.putAll(writes);
+                    cache = loaded;
+                }
+            } finally {
+                pendingWrites.removeIf(pending -> pending == writes);
+            }
+        }
+
+        private void stopRefresh() {
+            if(refreshExecutor != null) {
+                refreshExecutor.shutdownNow();
+                refreshExecutor = null;
+            }
+        }
+
+        /**
+         * Creates a Settings table in the specified database with a unique index on the setting name.
          * @return false if the table already exists
          * @throws SQLException if error occurs during table creation
          */
         public boolean createTable() throws SQLException {
-            return !db.getInfo().tableExists(TABLE_NAME)
-                    && new TableBuilder().CREATE(TABLE_NAME, db)
+            if(db.getInfo().tableExists(TABLE_NAME)) return false;
+            final var created = new TableBuilder().CREATE(TABLE_NAME, db)
                     .addColumn(new ColumnBuilder(ID_FIELD, DataTypes.INTEGER).notNull().primaryKey().autoIncrement())
                     .addColumn(new ColumnBuilder(NAME_FIELD, DataTypes.NVARCHAR, 100).notNull())
                     .addColumn(new ColumnBuilder(VALUE_FIELD, DataTypes.NVARCHAR, 100).notNull())
                     .buildAndCreate();
+            new IndexBuilder().CREATE_UNIQUE(NAME_INDEX, TABLE_NAME, db).addColumn(NAME_FIELD).buildAndCreate();
+            return created;
         }
 
         /**
@@ -516,24 +1378,20 @@ public final class Database implements AutoCloseable {
          * Returns a setting from the settings table, if setting doesn't exist, returns an empty string.
          * @param settingName name of the setting to return a value
          * @return value of the specified setting
+         * @throws IllegalStateException if a setting is defined multiple times
          * @throws SQLException if error occurs during lookup
          */
         public String getValue(final String settingName) throws SQLException {
             final var newSettingName = settingName.toLowerCase();
+            final var cached = cache;
+            if(cached != null) return cached.getOrDefault(newSettingName.toUpperCase(Locale.ENGLISH), "");
 
-            var value = "";
-
-            if(exists(newSettingName)) {
-                final var statement = new QueryBuilder().SELECT(VALUE_FIELD).FROM(TABLE_NAME)
-                        .WHERE(NAME_FIELD, newSettingName).build(db);
+            final var values = new QueryBuilder().useBindParameters().useCache().SELECT(VALUE_FIELD).FROM(TABLE_NAME)
+                    .WHERE(NAME_FIELD, newSettingName).list(db, Settings::toValue);
 
-                try(final var rs = statement.executeQuery()) {
-                    rs.next();
-                    value = rs.getString(VALUE_FIELD);
-                }
-            }
-
-            return value;
+            if(values.size() > 1) {
+                throw new IllegalStateException("Duplicate Settings Rows Found For \"" + newSettingName + '"');
+            } else return values.isEmpty() ? "" : values.get(0);
         }
 
         /**
@@ -546,13 +1404,34 @@ public final class Database implements AutoCloseable {
         public boolean setValue(final String settingName, final String settingValue)
                 throws SQLException {
             final var newSettingName = settingName.toLowerCase();
-
-            return (exists(newSettingName)
-                    ? new UpdateBuilder().UPDATE(TABLE_NAME)
-                    .SET(VALUE_FIELD, settingValue).WHERE(NAME_FIELD, newSettingName).buildAndUpdate(db)
-                    : new InsertBuilder().INSERT_INTO(TABLE_NAME, NAME_FIELD, VALUE_FIELD)
-                    .VALUES(newSettingName, settingValue).buildAndInsert(db)
-            ) == 1;
+            final var cached = cache;
+            final boolean result;
+            if(db.getInfo().getDbType() != DatabaseType.SQLite || db.getInfo().indexExists(TABLE_NAME, NAME_INDEX)) {
+                //SQLite can only upsert if the name column has a unique index
+                result = new UpsertBuilder().useBindParameters().UPSERT_INTO(TABLE_NAME, db, NAME_FIELD, VALUE_FIELD)
+                        .KEY(NAME_FIELD).VALUES(newSettingName, settingValue).buildAndUpsert(db) == 1;
+            } else if(cached != null) {
+                //Update first so that only one round trip is needed for an existing setting
+                result = new UpdateBuilder().useBindParameters().UPDATE(TABLE_NAME)
+                        .SET(VALUE_FIELD, settingValue).WHERE(NAME_FIELD, newSettingName).buildAndUpdate(db) == 1
+                        || new InsertBuilder().useBindParameters().INSERT_INTO(TABLE_NAME, NAME_FIELD, VALUE_FIELD)
+                        .VALUES(newSettingName, settingValue).buildAndInsert(db) == 1;
+            } else {
+                result = (exists(newSettingName)
+                        ? new UpdateBuilder().useBindParameters().UPDATE(TABLE_NAME)
+                        .SET(VALUE_FIELD, settingValue).WHERE(NAME_FIELD, newSettingName).buildAndUpdate(db)
+                        : new InsertBuilder().useBindParameters().INSERT_INTO(TABLE_NAME, NAME_FIELD, VALUE_FIELD)
+                        .VALUES(newSettingName, settingValue).buildAndInsert(db)
+                ) == 1;
+            }
+            if(result) {
+                final var key = newSettingName.toUpperCase(Locale.ENGLISH);
+                synchronized(this) {
+                    if(cache != null) cache.put(key, settingValue);
+                    pendingWrites.forEach(writes -> writes.put(key, settingValue));
+                }
+            }
+            return result;
         }
 
         /**
@@ -564,14 +1443,18 @@ public final class Database implements AutoCloseable {
          */
         public boolean exists(final String settingName) throws SQLException {
             final var newSettingName = settingName.toLowerCase();
-            final var rows = new QueryBuilder().SELECT(VALUE_FIELD).FROM(TABLE_NAME)
-                    .WHERE(NAME_FIELD, newSettingName).buildExecuteAndGetNumRows(db);
+            final var cached = cache;
+            if(cached != null) return cached.containsKey(newSettingName.toUpperCase(Locale.ENGLISH));
+            final var rows = new QueryBuilder().useBindParameters().useCache().SELECT(VALUE_FIELD).FROM(TABLE_NAME)
+                    .WHERE(NAME_FIELD, newSettingName).count(db);
 
             if(rows == 1) return true;
             else if (rows > 1) {
                 throw new IllegalStateException("Duplicate Settings Rows Found For \"" + newSettingName + '"');
             } else return false;
         }
+
+        private static String toValue(final ResultSet rs) throws SQLException { return rs.getString(VALUE_FIELD); }
     }
 
     /**
@@ -581,5 +1464,10 @@ public final class Database implements AutoCloseable {
      * you are finished with them to avoid tying up database resources.
      */
     @Override
-    public void close() throws SQLException { connection.disconnect(); }
+    public void close() throws SQLException {
+        if(async != null) async.close();
+        if(settings != null) settings.disableCache();
+        queryCache.disable();
+        connection.disconnect();
+    }
 }
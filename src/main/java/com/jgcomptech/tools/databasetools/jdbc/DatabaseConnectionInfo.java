@@ -25,6 +25,14 @@ public class DatabaseConnectionInfo {
      * The database type.
      */
     private DatabaseType dbType;
+    /**
+     * The connection pool settings, null if a single connection is used.
+     */
+    private ConnectionPoolSettings poolSettings;
+    /**
+     * The performance profile, null if the driver defaults are used.
+     */
+    private PerformanceProfile performanceProfile;
 
     /**
      * Returns the database path.
@@ -98,6 +106,42 @@ public class DatabaseConnectionInfo {
         return this;
     }
 
+    /**
+     * Returns the connection pool settings.
+     * @return the connection pool settings, null if a single connection is used
+     * @since 1.6.0
+     */
+    public ConnectionPoolSettings getPoolSettings() { return poolSettings; }
+
+    /**
+     * Sets the connection pool settings, enabling the pooled connection mode.
+     * @param poolSettings the connection pool settings, null to use a single connection
+     * @return an instance of this object for use as a builder pattern
+     * @since 1.6.0
+     */
+    public DatabaseConnectionInfo setPoolSettings(final ConnectionPoolSettings poolSettings) {
+        this.poolSettings = poolSettings;
+        return this;
+    }
+
+    /**
+     * Returns the performance profile that is applied when the database connects.
+     * @return the performance profile, null if the driver defaults are used
+     * @since 1.6.0
+     */
+    public PerformanceProfile getPerformanceProfile() { return performanceProfile; }
+
+    /**
+     * Sets the performance profile that is applied when the database connects.
+     * @param performanceProfile the performance profile, null to use the driver defaults
+     * @return an instance of this object for use as a builder pattern
+     * @since 1.6.0
+     */
+    public DatabaseConnectionInfo setPerformanceProfile(final PerformanceProfile performanceProfile) {
+        this.performanceProfile = performanceProfile;
+        return this;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -111,6 +155,8 @@ public class DatabaseConnectionInfo {
                 .append(username, connectionInfo.username)
                 .append(password, connectionInfo.password)
                 .append(dbType, connectionInfo.dbType)
+                .append(poolSettings, connectionInfo.poolSettings)
+                .append(performanceProfile, connectionInfo.performanceProfile)
                 .isEquals();
     }
 
@@ -121,6 +167,8 @@ public class DatabaseConnectionInfo {
                 .append(username)
                 .append(password)
                 .append(dbType)
+                .append(poolSettings)
+                .append(performanceProfile)
                 .toHashCode();
     }
 
@@ -130,6 +178,8 @@ public class DatabaseConnectionInfo {
                 .append("path", path)
                 .append("username", username)
                 .append("dbType", dbType)
+                .append("poolSettings", poolSettings)
+                .append("performanceProfile", performanceProfile)
                 .toString();
     }
 }
@@ -0,0 +1,303 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a {@code PreparedStatement} so that the connection it was prepared on
+ * is handed back to the {@link Database.Connection} once the statement is closed
+ * and, if the statement came from a {@link StatementCache}, the statement is returned to the cache
+ * instead of being closed.
+ * Close on completion is tracked by the wrapper so that closing the last
+ * {@code ResultSet} also releases the connection.
+ * If {@link StatementStats} are enabled every execution is timed and recorded,
+ * queries are recorded when their result-set or the statement is closed.
+ * For SQLite the query timeout is kept by the wrapper and a running statement is interrupted
+ * once the timeout elapses, because the driver only uses the timeout to wait for locks.
+ * The rows of a query are read while the statement runs, so the timeout of a query
+ * ends when its result-set or the statement is closed.
+ * @since 1.6.0
+ */
+final class ManagedStatement implements InvocationHandler {
+    private static final class Watchdog {
+        private static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, r -> {
+            final var thread = new Thread(r, "Query Timeout Watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    private final Database.Connection owner;
+    private final java.sql.Connection connection;
+    private final PreparedStatement delegate;
+    private final PreparedStatement proxy;
+    private final StatementStats stats;
+    private final String sql;
+    private final boolean emulateTimeout;
+    private StatementCache cache;
+    private java.sql.Connection cacheConnection;
+    private String cacheKey;
+    private ResultSet current;
+    private boolean closeOnCompletion;
+    private boolean closed;
+    private long queryStart = -1;
+    private long queryRows;
+    private int queryTimeout;
+    private Future<?> timer;
+    private volatile boolean timedOut;
+
+    private ManagedStatement(final Database.Connection owner,
+                             final java.sql.Connection connection,
+                             final PreparedStatement delegate,
+                             final String sql) {
+        this.owner = owner;
+        this.connection = connection;
+        this.delegate = delegate;
+        this.sql = sql;
+        stats = sql != null && owner.getStatementStats().isEnabled() ? owner.getStatementStats() : null;
+        emulateTimeout = owner.isQueryTimeoutEmulated();
+        queryTimeout = owner.getQueryTimeout();
+        proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, this);
+    }
+
+    /**
+     * Wraps the specified statement.
+     * @param owner the connection manager that the connection is released to
+     * @param connection the connection the statement was prepared on, null if it is not released
+     * @param delegate the statement to wrap
+     * @param sql the sql text the statement was prepared with, null if the statement is not recorded
+     * @return the wrapped statement
+     */
+    static PreparedStatement wrap(final Database.Connection owner,
+                                  final java.sql.Connection connection,
+                                  final PreparedStatement delegate,
+                                  final String sql) {
+        return new ManagedStatement(owner, connection, delegate, sql).proxy;
+    }
+
+    /**
+     * Checks if the specified statement is wrapped.
+     * @param stmt the statement to check
+     * @return true if the statement was returned by one of the wrap methods
+     */
+    static boolean isWrapped(final PreparedStatement stmt) {
+        return Proxy.isProxyClass(stmt.getClass()) && Proxy.getInvocationHandler(stmt) instanceof ManagedStatement;
+    }
+
+    /**
+     * Wraps the specified cached statement, when closed the statement is returned to the cache.
+     * @param owner the connection manager that the connection is released to
+     * @param connection the connection to release
+     * @param delegate the statement to wrap
+     * @param sql the sql text the statement was prepared with
+     * @param cache the cache to return the statement to
+     * @param cacheConnection the connection the statement was prepared on
+     * @param cacheKey the key the statement is cached under
+     * @return the wrapped statement
+     */
+    static PreparedStatement wrap(final Database.Connection owner,
+                                  final java.sql.Connection connection,
+                                  final PreparedStatement delegate,
+                                  final String sql,
+                                  final StatementCache cache,
+                                  final java.sql.Connection cacheConnection,
+                                  final String cacheKey) {
+        final var managed = new ManagedStatement(owner, connection, delegate, sql);
+        managed.cache = cache;
+        managed.cacheConnection = cacheConnection;
+        managed.cacheKey = cacheKey;
+        return managed.proxy;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        switch(method.getName()) {
+            case "close":
+                close();
+                return null;
+            case "isClosed":
+                return closed || delegate.isClosed();
+            case "closeOnCompletion":
+                closeOnCompletion = true;
+                return null;
+            case "isCloseOnCompletion":
+                return closeOnCompletion;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return delegate.toString();
+            case "setQueryTimeout":
+                if(!emulateTimeout) return invokeDelegate(delegate, method, args);
+                assertNotClosed();
+                if((int) args[0] < 0) throw new SQLException("Query Timeout Cannot Be Negative!");
+                queryTimeout = (int) args[0];
+                return null;
+            case "getQueryTimeout":
+                if(!emulateTimeout) return invokeDelegate(delegate, method, args);
+                assertNotClosed();
+                return queryTimeout;
+            case "getResultSet":
+                assertNotClosed();
+                if(args == null || args.length == 0) {
+                    return wrapResultSet((ResultSet) invokeDelegate(delegate, method, null));
+                }
+                return invokeDelegate(delegate, method, args);
+            case "executeQuery":
+            case "execute":
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "executeBatch":
+            case "executeLargeBatch":
+                assertNotClosed();
+                startTimer();
+                try {
+                    final var result = execute(method, args);
+                    //A query keeps running while its rows are read
+                    if(!(result instanceof ResultSet) && !Boolean.TRUE.equals(result)) stopTimer();
+                    return result;
+                } catch(final Throwable e) {
+                    stopTimer();
+                    if(timedOut && e instanceof SQLException) throw new SQLTimeoutException("Query Timed Out!", e);
+                    throw e;
+                }
+            default:
+                assertNotClosed();
+                return invokeDelegate(delegate, method, args);
+        }
+    }
+
+    private Object execute(final Method method, final Object[] args) throws Throwable {
+        switch(method.getName()) {
+            case "executeQuery":
+                if(args == null || args.length == 0) {
+                    recordQuery();
+                    if(stats != null) queryStart = System.nanoTime();
+                    return wrapResultSet((ResultSet) invokeDelegate(delegate, method, null));
+                }
+                return invokeDelegate(delegate, method, args);
+            default:
+                if(stats != null && (args == null || args.length == 0)) return executeAndRecord(method);
+                return invokeDelegate(delegate, method, args);
+        }
+    }
+
+    /** Schedules the interrupt of the statement if the timeout is emulated, a previous interrupt is cancelled. */
+    private void startTimer() {
+        stopTimer();
+        timedOut = false;
+        if(!emulateTimeout || queryTimeout == 0) return;
+        timer = Watchdog.EXECUTOR.schedule(() -> {
+            timedOut = true;
+            delegate.cancel();
+            return null;
+        }, queryTimeout, TimeUnit.SECONDS);
+    }
+
+    private void stopTimer() {
+        if(timer == null) return;
+        timer.cancel(false);
+        timer = null;
+    }
+
+    private void assertNotClosed() throws SQLException {
+        //A cached statement may already be in use by another operation once it is closed
+        if(closed) throw new SQLException("Statement Is Closed!");
+    }
+
+    private Object executeAndRecord(final Method method) throws Throwable {
+        recordQuery();
+        final var start = System.nanoTime();
+        final var result = invokeDelegate(delegate, method, null);
+        final var nanos = System.nanoTime() - start;
+        var rows = 0L;
+        if(result instanceof Number) rows = ((Number) result).longValue();
+        else if(result instanceof int[]) for(final var count : (int[]) result) rows += Math.max(count, 0);
+        else if(result instanceof long[]) for(final var count : (long[]) result) rows += Math.max(count, 0);
+        else if(Boolean.FALSE.equals(result)) rows = Math.max(delegate.getUpdateCount(), 0);
+        stats.record(sql, nanos, rows);
+        return result;
+    }
+
+    private void recordQuery() {
+        if(queryStart < 0) return;
+        stats.record(sql, System.nanoTime() - queryStart, queryRows);
+        queryStart = -1;
+        queryRows = 0;
+    }
+
+    private void close() throws SQLException {
+        if(closed) return;
+        closed = true;
+        stopTimer();
+        recordQuery();
+        try {
+            if(cache == null) delegate.close();
+            else {
+                if(current != null) current.close();
+                cache.offer(cacheConnection, cacheKey, delegate);
+            }
+        } finally {
+            owner.release(connection);
+        }
+    }
+
+    private ResultSet wrapResultSet(final ResultSet rs) {
+        if(rs == null) return null;
+        current = rs;
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (rsProxy, method, args) -> {
+                    switch(method.getName()) {
+                        case "next":
+                            if(timedOut) throw new SQLTimeoutException("Query Timed Out!");
+                            final boolean hasRow;
+                            try {
+                                hasRow = (Boolean) invokeDelegate(rs, method, args);
+                            } catch(final SQLException e) {
+                                if(timedOut) throw new SQLTimeoutException("Query Timed Out!", e);
+                                throw e;
+                            }
+                            if(hasRow) queryRows++;
+                            else stopTimer();
+                            return hasRow;
+                        case "close":
+                            stopTimer();
+                            recordQuery();
+                            try {
+                                rs.close();
+                            } finally {
+                                if(closeOnCompletion) close();
+                            }
+                            return null;
+                        case "getStatement":
+                            return proxy;
+                        default:
+                            return invokeDelegate(rs, method, args);
+                    }
+                });
+    }
+
+    private static Object invokeDelegate(final Object target, final Method method, final Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch(final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
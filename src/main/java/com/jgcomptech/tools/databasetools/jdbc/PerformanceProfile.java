@@ -0,0 +1,112 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import java.util.List;
+
+/**
+ * Named sets of tuning settings that are applied to a {@link Database} when it connects,
+ * use {@link DatabaseConnectionInfo#setPerformanceProfile} to select a profile.
+ * Settings that belong to a single connection, such as the SQLite pragmas, are applied to every new connection
+ * including pooled connections, settings that belong to the whole database are applied once on connect.
+ * Database wide settings require a user with admin rights.
+ * SQLite uses the WAL journal in every profile so readers never block the writer.
+ * @since 1.6.0
+ */
+public enum PerformanceProfile {
+    /**
+     * Every commit is synced to disk before it returns.
+     * SQLite uses {@code synchronous=FULL}, H2 writes the transaction log on every commit
+     * and HyperSQL syncs the log file on every commit.
+     */
+    DURABLE(List.of("PRAGMA journal_mode = WAL",
+                    "PRAGMA synchronous = FULL",
+                    "PRAGMA busy_timeout = 5000"),
+            List.of("SET LOCK_TIMEOUT 5000"),
+            List.of("SET WRITE_DELAY 0",
+                    "SET LOCK_MODE 3"),
+            List.of("SET FILES WRITE DELAY FALSE",
+                    "SET DATABASE TRANSACTION CONTROL MVCC")),
+    /**
+     * The last commits may be lost on a power failure but the database is never corrupted.
+     * SQLite uses {@code synchronous=NORMAL} with a 16 MB page cache, a 64 MB memory map and in memory
+     * temp tables, H2 and HyperSQL use a 32 MB cache and sync the log every half second.
+     */
+    BALANCED(List.of("PRAGMA journal_mode = WAL",
+                     "PRAGMA synchronous = NORMAL",
+                     "PRAGMA cache_size = -16384",
+                     "PRAGMA mmap_size = 67108864",
+                     "PRAGMA temp_store = MEMORY",
+                     "PRAGMA busy_timeout = 5000"),
+             List.of("SET LOCK_TIMEOUT 5000"),
+             List.of("SET CACHE_SIZE 32768",
+                     "SET WRITE_DELAY 500",
+                     "SET LOCK_MODE 3"),
+             List.of("SET FILES WRITE DELAY 500 MILLIS",
+                     "SET FILES CACHE SIZE 32768",
+                     "SET DATABASE TRANSACTION CONTROL MVCC")),
+    /**
+     * Commits are left to the operating system to write, a crash of the operating system can lose
+     * or corrupt recent commits so this is meant for bulk loads and data that can be recreated.
+     * SQLite uses {@code synchronous=OFF} with a 64 MB page cache, a 256 MB memory map and in memory
+     * temp tables, H2 and HyperSQL use a 128 MB cache and sync the log every two seconds.
+     */
+    THROUGHPUT(List.of("PRAGMA journal_mode = WAL",
+                       "PRAGMA synchronous = OFF",
+                       "PRAGMA cache_size = -65536",
+                       "PRAGMA mmap_size = 268435456",
+                       "PRAGMA temp_store = MEMORY",
+                       "PRAGMA busy_timeout = 5000"),
+               List.of("SET LOCK_TIMEOUT 5000"),
+               List.of("SET CACHE_SIZE 131072",
+                       "SET WRITE_DELAY 2000",
+                       "SET LOCK_MODE 3"),
+               List.of("SET FILES WRITE DELAY 2",
+                       "SET FILES CACHE SIZE 131072",
+                       "SET DATABASE TRANSACTION CONTROL MVCC"));
+
+    private final List<String> sqliteConnectionSql;
+    private final List<String> h2ConnectionSql;
+    private final List<String> h2DatabaseSql;
+    private final List<String> hsqldbDatabaseSql;
+
+    PerformanceProfile(final List<String> sqliteConnectionSql,
+                       final List<String> h2ConnectionSql,
+                       final List<String> h2DatabaseSql,
+                       final List<String> hsqldbDatabaseSql) {
+        this.sqliteConnectionSql = sqliteConnectionSql;
+        this.h2ConnectionSql = h2ConnectionSql;
+        this.h2DatabaseSql = h2DatabaseSql;
+        this.hsqldbDatabaseSql = hsqldbDatabaseSql;
+    }
+
+    /**
+     * Returns the statements that are run on every new connection.
+     * @param dbType the database type
+     * @return an unmodifiable list of sql statements
+     */
+    public List<String> getConnectionSql(final DatabaseType dbType) {
+        switch(dbType) {
+            case SQLite:
+                return sqliteConnectionSql;
+            case H2:
+                return h2ConnectionSql;
+            default:
+                return List.of();
+        }
+    }
+
+    /**
+     * Returns the statements that are run once when the database connects.
+     * @param dbType the database type
+     * @return an unmodifiable list of sql statements
+     */
+    public List<String> getDatabaseSql(final DatabaseType dbType) {
+        switch(dbType) {
+            case H2:
+                return h2DatabaseSql;
+            case HyperSQLDB:
+                return hsqldbDatabaseSql;
+            default:
+                return List.of();
+        }
+    }
+}
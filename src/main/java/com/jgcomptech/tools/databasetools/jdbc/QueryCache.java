@@ -0,0 +1,267 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import com.jgcomptech.tools.databasetools.jdbc.builders.QueryBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An LRU cache of query results keyed by the sql text, the bind parameters and the kind of result,
+ * use {@link Database#getQueryCache} to access methods.
+ * Only queries that opt in with {@link QueryBuilder#useCache} are cached and the cache is disabled
+ * until {@link #enable} is called.
+ * A cached result is removed when an INSERT, UPDATE, DELETE or upsert builder that targets one of the tables
+ * of the query is executed through the same database, statements run with {@link Database.Tasks}
+ * remove all cached results. Results are not cached while the current thread has an active transaction
+ * and the tables written by a transaction are invalidated again when it is committed.
+ * Cached results are shared between callers so they must not be modified.
+ * @since 1.6.0
+ */
+public final class QueryCache {
+    /**
+     * Loads a result from the database on a cache miss.
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * Loads the result.
+         * @return the result
+         * @throws SQLException if a database access error occurs
+         */
+        T load() throws SQLException;
+    }
+
+    private final Database db;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> tableVersions = new HashMap<>();
+    private long epoch;
+    private int maxSize;
+    private long ttlNanos;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    QueryCache(final Database db) { this.db = db; }
+
+    /**
+     * Enables the cache without a time limit, results are only removed when they are invalidated
+     * or when the cache is full.
+     * @param maxSize the maximum number of cached results
+     * @throws IllegalArgumentException if the size is less than 1
+     */
+    public void enable(final int maxSize) { enable(maxSize, 0, TimeUnit.MILLISECONDS); }
+
+    /**
+     * Enables the cache, results are removed when they are invalidated, when they are older than the time to live
+     * or when the cache is full.
+     * @param maxSize the maximum number of cached results
+     * @param timeToLive the maximum age of a cached result, 0 for no limit
+     * @param unit the time unit of the time to live
+     * @throws IllegalArgumentException if the size is less than 1 or the time to live is negative
+     */
+    public synchronized void enable(final int maxSize, final long timeToLive, final TimeUnit unit) {
+        if(maxSize < 1) throw new IllegalArgumentException("Max Size Must Be At Least 1!");
+        if(timeToLive < 0) throw new IllegalArgumentException("Time To Live Cannot Be Negative!");
+        if(unit == null) throw new IllegalArgumentException("Time Unit Cannot Be Null!");
+        this.maxSize = maxSize;
+        ttlNanos = unit.toNanos(timeToLive);
+        evictOverflow();
+    }
+
+    /** Disables the cache and removes all cached results. */
+    public synchronized void disable() {
+        maxSize = 0;
+        entries.clear();
+    }
+
+    /**
+     * Checks if the cache is enabled.
+     * @return true if query results are cached
+     */
+    public synchronized boolean isEnabled() { return maxSize > 0; }
+
+    /**
+     * Returns the maximum number of cached results.
+     * @return the maximum size, 0 if the cache is disabled
+     */
+    public synchronized int getMaxSize() { return maxSize; }
+
+    /**
+     * Returns the number of cached results.
+     * @return the number of cached results
+     */
+    public synchronized int size() { return entries.size(); }
+
+    /**
+     * Returns the number of results that were served from the cache.
+     * @return the number of cache hits
+     */
+    public synchronized long getHits() { return hits; }
+
+    /**
+     * Returns the number of results that had to be loaded from the database.
+     * @return the number of cache misses
+     */
+    public synchronized long getMisses() { return misses; }
+
+    /**
+     * Returns the number of results that were removed because they expired or the cache was full.
+     * @return the number of evictions
+     */
+    public synchronized long getEvictions() { return evictions; }
+
+    /** Resets the hit, miss and eviction counters. */
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Returns the cached result of the query or loads and caches it on a miss.
+     * The loader is called directly if the cache is disabled, the query does not read from a table
+     * or the current thread has an active transaction.
+     * @param <T> the type of the result
+     * @param query the query that produces the result
+     * @param resultKey identifies the kind of result, such as the row mapper, so different results
+     *                  of the same query are cached separately
+     * @param loader loads the result on a cache miss
+     * @return the result
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final QueryBuilder query, final Object resultKey, final Loader<T> loader)
+            throws SQLException {
+        final var tables = query.getTables();
+        if(!isEnabled() || tables.isEmpty() || db.getConnection().getTransaction() != null) return loader.load();
+        final var key = new Key(query.toString(), query.getParameters(), resultKey);
+        final long version;
+        synchronized(this) {
+            final var entry = entries.get(key);
+            if(entry != null) {
+                if(ttlNanos == 0 || System.nanoTime() - entry.created < ttlNanos) {
+                    hits++;
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                evictions++;
+            }
+            misses++;
+            version = getVersion(tables);
+        }
+        final var value = loader.load();
+        synchronized(this) {
+            //A write to one of the tables while the result was loading may have made it stale
+            if(maxSize > 0 && version == getVersion(tables)) {
+                entries.put(key, new Entry(value, Set.copyOf(tables), System.nanoTime()));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes all cached results that read from the specified table.
+     * @param tableName the name of the table
+     */
+    public void invalidate(final String tableName) { invalidate(List.of(tableName)); }
+
+    /**
+     * Removes all cached results that read from any of the specified tables.
+     * @param tableNames the names of the tables
+     */
+    public void invalidate(final Collection<String> tableNames) {
+        if(tableNames.isEmpty()) return;
+        final var tables = new ArrayList<String>(tableNames.size());
+        for(final var tableName : tableNames) tables.add(tableName.toUpperCase(Locale.ENGLISH));
+        final var transaction = db.getConnection().getTransaction();
+        if(transaction != null) transaction.addWrittenTables(tables);
+        synchronized(this) {
+            for(final var table : tables) tableVersions.merge(table, 1L, Long::sum);
+            if(entries.isEmpty()) return;
+            entries.values().removeIf(entry -> tables.stream().anyMatch(entry.tables::contains));
+        }
+    }
+
+    /** Removes all cached results. */
+    public synchronized void invalidateAll() {
+        epoch++;
+        entries.clear();
+    }
+
+    private long getVersion(final Set<String> tables) {
+        var version = epoch;
+        for(final var table : tables) version += tableVersions.getOrDefault(table, 0L);
+        return version;
+    }
+
+    private void evictOverflow() {
+        final var it = entries.values().iterator();
+        while(entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new ToStringBuilder(this)
+                .append("maxSize", maxSize)
+                .append("ttlNanos", ttlNanos)
+                .append("size", entries.size())
+                .append("hits", hits)
+                .append("misses", misses)
+                .append("evictions", evictions)
+                .toString();
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final List<Object> parameters;
+        private final Object resultKey;
+        private final int hash;
+
+        private Key(final String sql, final List<Object> parameters, final Object resultKey) {
+            this.sql = sql;
+            this.parameters = new ArrayList<>(parameters);
+            this.resultKey = resultKey;
+            hash = Objects.hash(sql, this.parameters, resultKey);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if(this == o) return true;
+            if(!(o instanceof Key)) return false;
+            final var key = (Key) o;
+            return hash == key.hash && sql.equals(key.sql)
+                    && parameters.equals(key.parameters) && Objects.equals(resultKey, key.resultKey);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final Set<String> tables;
+        private final long created;
+
+        private Entry(final Object value, final Set<String> tables, final long created) {
+            this.value = value;
+            this.tables = tables;
+            this.created = created;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import com.jgcomptech.tools.databasetools.jdbc.builders.SQLBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The execution plan the database chose for a statement, use {@link SQLBuilder#explain} to capture the plan
+ * of a builder. The plan is read with {@code EXPLAIN QUERY PLAN} on SQLite, {@code EXPLAIN} on H2
+ * and {@code EXPLAIN PLAN FOR} on HyperSQL and is parsed into the way each table is accessed,
+ * so tests can check that a statement uses an index with {@link #assertNoFullScan} and {@link #assertUsesIndex}.
+ * Table and index names are returned in upper case without the schema.
+ * @since 1.6.0
+ */
+public final class QueryPlan {
+    private static final Pattern SQLITE_ACCESS = Pattern.compile("^(SCAN|SEARCH)(?: TABLE)? (\\S+)(?: AS \\S+)?"
+            + "(?: USING (?:(?:AUTOMATIC )?(?:PARTIAL )?(?:COVERING )?INDEX (\\S+)|(INTEGER PRIMARY KEY)))?");
+    private static final Pattern H2_ACCESS = Pattern.compile(
+            "(?:FROM|JOIN|UPDATE)\\s+([^\\s(/][^\\s/]*)(?:\\s+(?!/\\*)[^\\s/]+)?\\s*/\\*\\s*([^:*\\s]+)");
+    private static final Pattern HSQLDB_INDEX = Pattern.compile("index=(\\S+)");
+    private static final String H2_TABLE_SCAN = ".tableScan";
+
+    private final String sql;
+    private final DatabaseType dbType;
+    private final String text;
+    private final List<TableAccess> tableAccesses;
+
+    private QueryPlan(final String sql, final DatabaseType dbType, final String text,
+                      final List<TableAccess> tableAccesses) {
+        this.sql = sql;
+        this.dbType = dbType;
+        this.text = text;
+        this.tableAccesses = Collections.unmodifiableList(tableAccesses);
+    }
+
+    /**
+     * Captures the execution plan of the specified statement without executing it.
+     * @param db the database to explain the statement on
+     * @param sql the statement to explain without the ending semicolon
+     * @param parameters the values of the {@code ?} placeholders of the statement, may be empty
+     * @return the execution plan
+     * @throws SQLException if a database access error occurs or the statement is not valid
+     * @throws IllegalArgumentException if the database or the statement is null or empty
+     */
+    public static QueryPlan explain(final Database db, final String sql, final List<?> parameters)
+            throws SQLException {
+        if(db == null) throw new IllegalArgumentException("Database Cannot Be Null!");
+        if(sql == null || sql.trim().isEmpty()) throw new IllegalArgumentException("SQL String Not Set!");
+        final var dbType = db.getInfo().getDbType();
+        final String prefix;
+        switch(dbType) {
+            case SQLite:
+                prefix = "EXPLAIN QUERY PLAN ";
+                break;
+            case HyperSQLDB:
+                prefix = "EXPLAIN PLAN FOR ";
+                break;
+            default:
+                prefix = "EXPLAIN ";
+                break;
+        }
+
+        final var lines = new ArrayList<String>();
+        try(final var stmt = db.getConnection().prepareStatement(prefix + sql + ';')) {
+            //HyperSQL plans the statement without its parameters
+            if(parameters != null && !parameters.isEmpty()
+                    && stmt.getParameterMetaData().getParameterCount() == parameters.size()) {
+                SQLBuilder.bindParameters(stmt, parameters);
+            }
+            try(final var rs = stmt.executeQuery()) {
+                final var column = dbType == DatabaseType.SQLite ? rs.getMetaData().getColumnCount() : 1;
+                while(rs.next()) lines.add(rs.getString(column));
+            }
+        }
+
+        final List<TableAccess> accesses;
+        switch(dbType) {
+            case SQLite:
+                accesses = parseSQLite(lines);
+                break;
+            case HyperSQLDB:
+                accesses = parseHyperSQL(lines);
+                break;
+            default:
+                accesses = parseH2(String.join("\n", lines));
+                break;
+        }
+        return new QueryPlan(sql, dbType, String.join("\n", lines), accesses);
+    }
+
+    private static List<TableAccess> parseSQLite(final List<String> lines) {
+        final var accesses = new ArrayList<TableAccess>();
+        for(final var line : lines) {
+            final var matcher = SQLITE_ACCESS.matcher(line.trim());
+            if(!matcher.find()) continue;
+            final var table = matcher.group(2);
+            if("SUBQUERY".equals(table) || "CONSTANT".equals(table)) continue;
+            final var index = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+            accesses.add(new TableAccess(table, index, "SCAN".equals(matcher.group(1))));
+        }
+        return accesses;
+    }
+
+    private static List<TableAccess> parseH2(final String plan) {
+        final var accesses = new ArrayList<TableAccess>();
+        final var matcher = H2_ACCESS.matcher(plan);
+        while(matcher.find()) {
+            final var access = matcher.group(2);
+            if(access.endsWith(H2_TABLE_SCAN)) accesses.add(new TableAccess(matcher.group(1), null, true));
+            //Table functions and direct lookups have no index
+            else if(access.indexOf('.') > 0) accesses.add(new TableAccess(matcher.group(1), access, false));
+        }
+        return accesses;
+    }
+
+    private static List<TableAccess> parseHyperSQL(final List<String> lines) {
+        final var accesses = new ArrayList<TableAccess>();
+        String table = null;
+        Boolean fullScan = null;
+        for(final var line : lines) {
+            final var trimmed = line.trim();
+            if(trimmed.startsWith("table=")) {
+                table = trimmed.substring("table=".length());
+                fullScan = null;
+            } else if(table != null && trimmed.startsWith("access=")) {
+                fullScan = trimmed.equals("access=FULL SCAN");
+                if(fullScan) {
+                    accesses.add(new TableAccess(table, null, true));
+                    table = null;
+                }
+            } else if(table != null && fullScan != null) {
+                final var matcher = HSQLDB_INDEX.matcher(trimmed);
+                if(matcher.find()) {
+                    accesses.add(new TableAccess(table, matcher.group(1), false));
+                    table = null;
+                }
+            }
+        }
+        return accesses;
+    }
+
+    private static String normalizeName(final String name) {
+        if(name == null) return null;
+        final var unquoted = name.replace("\"", "").replace("`", "");
+        return unquoted.substring(unquoted.lastIndexOf('.') + 1).toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns the statement that was explained.
+     * @return the sql text
+     */
+    public String getSql() { return sql; }
+
+    /**
+     * Returns the type of the database that created the plan.
+     * @return the database type
+     */
+    public DatabaseType getDbType() { return dbType; }
+
+    /**
+     * Returns the plan as it was returned by the database.
+     * @return the plan text, one line per row of the plan
+     */
+    public String getText() { return text; }
+
+    /**
+     * Returns the way each table of the statement is accessed in the order of the plan.
+     * @return an unmodifiable list of table accesses
+     */
+    public List<TableAccess> getTableAccesses() { return tableAccesses; }
+
+    /**
+     * Returns the tables that are read in full, a scan of a covering index on SQLite is a full scan
+     * because every entry of the index is read.
+     * @return the upper case names of the scanned tables
+     */
+    public List<String> getFullScans() {
+        return tableAccesses.stream().filter(TableAccess::isFullScan).map(TableAccess::getTable)
+                .distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * Checks if any table is read in full.
+     * @return true if the plan contains a full scan
+     */
+    public boolean hasFullScan() { return tableAccesses.stream().anyMatch(TableAccess::isFullScan); }
+
+    /**
+     * Checks if the specified index is used to access a table.
+     * @param indexName the name of the index, the case is ignored
+     * @return true if the index is used
+     */
+    public boolean usesIndex(final String indexName) {
+        final var name = normalizeName(indexName);
+        return tableAccesses.stream().anyMatch(access -> name.equals(access.getIndex()));
+    }
+
+    /**
+     * Fails with an {@code AssertionError} that contains the plan if a table is read in full,
+     * this is meant for tests that guard statements against plan regressions.
+     * @param allowedTables the tables that may be read in full, the case is ignored
+     * @return this plan
+     * @throws AssertionError if a table that is not allowed is read in full
+     */
+    public QueryPlan assertNoFullScan(final String... allowedTables) {
+        final var allowed = Arrays.stream(allowedTables).map(QueryPlan::normalizeName).collect(Collectors.toSet());
+        final var scans = getFullScans().stream().filter(table -> !allowed.contains(table))
+                .collect(Collectors.toList());
+        if(!scans.isEmpty()) {
+            throw new AssertionError("Full Table Scan Of " + String.join(", ", scans) + "!\n" + this);
+        }
+        return this;
+    }
+
+    /**
+     * Fails with an {@code AssertionError} that contains the plan if the specified index is not used,
+     * this is meant for tests that guard statements against plan regressions.
+     * @param indexName the name of the index, the case is ignored
+     * @return this plan
+     * @throws AssertionError if the index is not used
+     */
+    public QueryPlan assertUsesIndex(final String indexName) {
+        if(!usesIndex(indexName)) throw new AssertionError("Index " + indexName + " Is Not Used!\n" + this);
+        return this;
+    }
+
+    /**
+     * Returns the statement and the plan text.
+     * @return the statement and the plan
+     */
+    @Override
+    public String toString() { return "EXPLAIN " + sql + '\n' + text; }
+
+    /** The way the database reads a single table of the statement. */
+    public static final class TableAccess {
+        private final String table;
+        private final String index;
+        private final boolean fullScan;
+
+        private TableAccess(final String table, final String index, final boolean fullScan) {
+            this.table = normalizeName(table);
+            this.index = normalizeName(index);
+            this.fullScan = fullScan;
+        }
+
+        /**
+         * Returns the name of the table.
+         * @return the upper case name of the table
+         */
+        public String getTable() { return table; }
+
+        /**
+         * Returns the index that is used to find the rows of the table.
+         * @return the upper case name of the index, null if no index is used
+         */
+        public String getIndex() { return index; }
+
+        /**
+         * Checks if every row of the table or of its index is read.
+         * @return true if the table is read in full
+         */
+        public boolean isFullScan() { return fullScan; }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("table", table)
+                    .append("index", index)
+                    .append("fullScan", fullScan)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@code ResultSet} to an object.
+ * @param <T> the type of object each row is mapped to
+ * @since 1.6.0
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * Maps the current row of the specified result-set, the mapper must not move the cursor.
+     * @param rs the result-set positioned on the row to map
+     * @return the object for the current row
+     * @throws SQLException if a database access error occurs
+     */
+    T mapRow(ResultSet rs) throws SQLException;
+}
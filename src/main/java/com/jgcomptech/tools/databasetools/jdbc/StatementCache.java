@@ -0,0 +1,169 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A per-connection LRU cache of {@code PreparedStatement} objects keyed by their SQL text,
+ * use {@link Database.Connection#getStatementCache} to access methods.
+ * Statements are checked out of the cache while they are in use so that a cached statement
+ * is never shared between two operations, when the statement is closed it is returned to the cache.
+ * @since 1.6.0
+ */
+public final class StatementCache {
+    private final Map<java.sql.Connection, LinkedHashMap<String, PreparedStatement>> caches = new HashMap<>();
+    private int maxSize;
+    private long hits;
+    private long misses;
+
+    StatementCache(final int maxSize) { this.maxSize = maxSize; }
+
+    /**
+     * Checks if the cache is enabled.
+     * @return true if the max size is greater than 0
+     */
+    public synchronized boolean isEnabled() { return maxSize > 0; }
+
+    /**
+     * Returns the maximum number of idle statements that are cached per connection.
+     * @return the maximum number of statements per connection
+     */
+    public synchronized int getMaxSize() { return maxSize; }
+
+    /**
+     * Sets the maximum number of idle statements that are cached per connection,
+     * the least recently used statements are closed if the cache is over the new size.
+     * @param maxSize the maximum number of statements per connection, 0 disables the cache
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public synchronized void setMaxSize(final int maxSize) {
+        if(maxSize < 0) throw new IllegalArgumentException("Max Size Cannot Be Negative!");
+        this.maxSize = maxSize;
+        for(final var cache : caches.values()) {
+            final var it = cache.values().iterator();
+            while(cache.size() > maxSize && it.hasNext()) {
+                closeQuietly(it.next());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of statements that were served from the cache.
+     * @return the number of cache hits
+     */
+    public synchronized long getHits() { return hits; }
+
+    /**
+     * Returns the number of statements that had to be prepared.
+     * @return the number of cache misses
+     */
+    public synchronized long getMisses() { return misses; }
+
+    /**
+     * Returns the number of idle statements in the cache across all connections.
+     * @return the number of cached statements
+     */
+    public synchronized int size() { return caches.values().stream().mapToInt(Map::size).sum(); }
+
+    /** Resets the hit and miss counters. */
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Checks out the cached statement for the specified SQL text.
+     * @param connection the connection the statement was prepared on
+     * @param key the SQL text and statement options
+     * @return the cached statement, null if none is cached and the statement must be prepared
+     */
+    synchronized PreparedStatement take(final java.sql.Connection connection, final String key) {
+        final var cache = caches.get(connection);
+        final var stmt = cache == null ? null : cache.remove(key);
+        if(stmt != null && !isClosed(stmt)) {
+            hits++;
+            return stmt;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Returns a statement to the cache, if the cache is full the least recently used statement is closed.
+     * @param connection the connection the statement was prepared on
+     * @param key the SQL text and statement options
+     * @param stmt the statement to return
+     */
+    synchronized void offer(final java.sql.Connection connection, final String key, final PreparedStatement stmt) {
+        if(maxSize == 0 || isClosed(stmt)) {
+            closeQuietly(stmt);
+            return;
+        }
+        try {
+            stmt.clearParameters();
+            stmt.clearWarnings();
+        } catch(final SQLException e) {
+            closeQuietly(stmt);
+            return;
+        }
+        var cache = caches.get(connection);
+        if(cache == null) {
+            purgeClosedConnections();
+            cache = new LinkedHashMap<>(16, 0.75f, true);
+            caches.put(connection, cache);
+        }
+        final var existing = cache.put(key, stmt);
+        if(existing != null && existing != stmt) closeQuietly(existing);
+        final var it = cache.values().iterator();
+        while(cache.size() > maxSize && it.hasNext()) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+    }
+
+    /** Closes all cached statements. */
+    synchronized void clear() {
+        caches.values().forEach(cache -> cache.values().forEach(StatementCache::closeQuietly));
+        caches.clear();
+    }
+
+    private void purgeClosedConnections() {
+        caches.entrySet().removeIf(entry -> {
+            try {
+                return entry.getKey().isClosed();
+            } catch(final SQLException e) {
+                return true;
+            }
+        });
+    }
+
+    private static boolean isClosed(final PreparedStatement stmt) {
+        try {
+            return stmt.isClosed();
+        } catch(final SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(final PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch(final SQLException ignore) { }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new ToStringBuilder(this)
+                .append("maxSize", maxSize)
+                .append("size", size())
+                .append("hits", hits)
+                .append("misses", misses)
+                .toString();
+    }
+}
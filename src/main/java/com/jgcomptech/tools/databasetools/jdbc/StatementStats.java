@@ -0,0 +1,295 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Records the execution time and row count of every statement that is prepared through
+ * {@link Database.Connection#prepareStatement} and aggregates them per statement shape,
+ * use {@link Database.Connection#getStatementStats} to access methods.
+ * The shape of a statement is its sql text with all literals replaced by {@code ?}
+ * and all value lists collapsed so statements that only differ in their values share the same statistics.
+ * The time of a query is measured from the start of its execution until its result-set is closed.
+ * Statistics are disabled until {@link #setEnabled} is called, once enabled recording is lock free
+ * and percentiles are kept in a fixed size histogram with a precision of about 12% so they can be left on.
+ * Statements that take longer than the slow statement threshold are logged
+ * to the {@code com.jgcomptech.tools.databasetools.jdbc.SlowStatement} logger at the {@code WARNING} level.
+ * @since 1.6.0
+ */
+public final class StatementStats {
+    private static final Logger SLOW_LOG = Logger.getLogger("com.jgcomptech.tools.databasetools.jdbc.SlowStatement");
+    private static final Pattern VALUE_LIST = Pattern.compile("\\(\\?(?:, \\?)+\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\)(?:, \\(\\?\\))+");
+    private static final int MAX_CACHED_SHAPES = 1024;
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile long slowThresholdNanos = -1;
+
+    StatementStats() { }
+
+    /**
+     * Checks if statements are recorded.
+     * @return true if statistics are enabled
+     */
+    public boolean isEnabled() { return enabled; }
+
+    /**
+     * Enables or disables the recording of statements, the collected statistics are kept when disabled.
+     * @param enabled if true statements are recorded
+     */
+    public void setEnabled(final boolean enabled) { this.enabled = enabled; }
+
+    /**
+     * Sets the execution time after which a statement is logged as slow,
+     * slow statements are only logged while statistics are enabled.
+     * @param threshold the threshold, a negative value disables the slow statement log
+     * @param unit the time unit of the threshold
+     */
+    public void setSlowThreshold(final long threshold, final TimeUnit unit) {
+        if(unit == null) throw new IllegalArgumentException("Time Unit Cannot Be Null!");
+        slowThresholdNanos = threshold < 0 ? -1 : unit.toNanos(threshold);
+    }
+
+    /**
+     * Returns the execution time after which a statement is logged as slow.
+     * @param unit the time unit to return the threshold in
+     * @return the threshold, -1 if the slow statement log is disabled
+     */
+    public long getSlowThreshold(final TimeUnit unit) {
+        return slowThresholdNanos < 0 ? -1 : unit.convert(slowThresholdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the statistics of the specified statement shape.
+     * @param sql the sql text of the statement, it is normalized to its shape first
+     * @return the statistics, null if no statement of that shape has been recorded
+     */
+    public Shape getShape(final String sql) { return shapes.get(toShape(sql)); }
+
+    /**
+     * Returns the statistics of all recorded statement shapes sorted by their total execution time,
+     * the slowest shape first.
+     * @return a list of the statistics of all shapes
+     */
+    public List<Shape> getShapes() {
+        final var list = new ArrayList<>(shapes.values());
+        list.sort(Comparator.comparingLong(Shape::getTotalTime).reversed());
+        return list;
+    }
+
+    /** Removes all recorded statistics. */
+    public void reset() { shapes.clear(); }
+
+    /**
+     * Records a statement execution.
+     * @param sql the sql text of the statement
+     * @param nanos the execution time in nanoseconds
+     * @param rows the number of rows affected or read
+     */
+    void record(final String sql, final long nanos, final long rows) {
+        final var shape = shapes.computeIfAbsent(toShape(sql), Shape::new);
+        shape.add(nanos, rows);
+        final var threshold = slowThresholdNanos;
+        if(threshold >= 0 && nanos >= threshold && SLOW_LOG.isLoggable(Level.WARNING)) {
+            SLOW_LOG.log(Level.WARNING, String.format("Slow Statement (%.3f ms, %d rows): %s",
+                    nanos / 1_000_000.0, rows, sql));
+        }
+    }
+
+    private String toShape(final String sql) {
+        final var shape = shapeCache.get(sql);
+        if(shape != null) return shape;
+        //Statements with inline literals produce a new sql text for every value so the cache is kept bounded
+        if(shapeCache.size() >= MAX_CACHED_SHAPES) shapeCache.clear();
+        final var normalized = normalize(sql);
+        shapeCache.put(sql, normalized);
+        return normalized;
+    }
+
+    /**
+     * Returns the shape of the specified sql text, string and number literals are replaced by {@code ?}
+     * and lists of values and rows of values are collapsed to a single {@code (?)},
+     * a trailing semicolon is removed.
+     * @param sql the sql text to normalize
+     * @return the shape of the sql text
+     */
+    static String normalize(final String sql) {
+        var length = sql.length();
+        while(length > 0 && (sql.charAt(length - 1) == ';' || Character.isWhitespace(sql.charAt(length - 1)))) {
+            length--;
+        }
+        final var shape = new StringBuilder(length);
+        var i = 0;
+        while(i < length) {
+            final var c = sql.charAt(i);
+            if(c == '\'') {
+                i++;
+                while(i < length) {
+                    if(sql.charAt(i) == '\'') {
+                        if(i + 1 < length && sql.charAt(i + 1) == '\'') i++;
+                        else break;
+                    }
+                    i++;
+                }
+                i++;
+                shape.append('?');
+            } else if(Character.isDigit(c) && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)))) {
+                while(i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) i++;
+                shape.append('?');
+            } else {
+                shape.append(c);
+                i++;
+            }
+        }
+        return ROW_LIST.matcher(VALUE_LIST.matcher(shape).replaceAll("(?)")).replaceAll("(?)");
+    }
+
+    private static boolean isIdentifierPart(final char c) { return Character.isLetterOrDigit(c) || c == '_'; }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("enabled", enabled)
+                .append("slowThresholdNanos", slowThresholdNanos)
+                .append("shapes", shapes.size())
+                .toString();
+    }
+
+    /**
+     * The aggregated statistics of all statements that share the same shape.
+     * Execution times are kept in a log-linear histogram so percentiles are approximations.
+     */
+    public static final class Shape {
+        //8 sub buckets per power of 2 give a relative error of at most 12.5%
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAdder totalRows = new LongAdder();
+        private final AtomicLong maxTime = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        private Shape(final String sql) { this.sql = sql; }
+
+        private void add(final long nanos, final long rows) {
+            final var time = Math.max(nanos, 0);
+            count.increment();
+            totalTime.add(time);
+            if(rows > 0) totalRows.add(rows);
+            maxTime.accumulateAndGet(time, Math::max);
+            histogram.incrementAndGet(toBucket(time));
+        }
+
+        private static int toBucket(final long nanos) {
+            if(nanos < SUB_BUCKETS) return (int) nanos;
+            final var exponent = 63 - Long.numberOfLeadingZeros(nanos);
+            final var subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long fromBucket(final int bucket) {
+            if(bucket < SUB_BUCKETS) return bucket;
+            final var shift = bucket / SUB_BUCKETS - 1;
+            final long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+            //The middle of the bucket halves the error of the estimate
+            return lower + ((1L << shift) >> 1);
+        }
+
+        /**
+         * Returns the normalized sql text of the statements.
+         * @return the shape of the statements
+         */
+        public String getSql() { return sql; }
+
+        /**
+         * Returns the number of recorded executions.
+         * @return the execution count
+         */
+        public long getCount() { return count.sum(); }
+
+        /**
+         * Returns the total number of rows affected or read by all executions.
+         * @return the total row count
+         */
+        public long getTotalRows() { return totalRows.sum(); }
+
+        /**
+         * Returns the total execution time of all executions.
+         * @return the total time in nanoseconds
+         */
+        public long getTotalTime() { return totalTime.sum(); }
+
+        /**
+         * Returns the longest execution time.
+         * @return the max time in nanoseconds
+         */
+        public long getMaxTime() { return maxTime.get(); }
+
+        /**
+         * Returns the approximate execution time that the specified percentage of executions did not exceed.
+         * @param percentile the percentile between 0 and 100
+         * @return the time in nanoseconds, 0 if nothing has been recorded
+         * @throws IllegalArgumentException if the percentile is not between 0 and 100
+         */
+        public long getPercentile(final double percentile) {
+            if(percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile Must Be Between 0 And 100!");
+            }
+            final var snapshot = new long[BUCKETS];
+            var total = 0L;
+            for(var i = 0; i < BUCKETS; i++) {
+                snapshot[i] = histogram.get(i);
+                total += snapshot[i];
+            }
+            if(total == 0) return 0;
+            final var rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            var seen = 0L;
+            for(var i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if(seen >= rank) return Math.min(fromBucket(i), getMaxTime());
+            }
+            return getMaxTime();
+        }
+
+        /**
+         * Returns the approximate median execution time.
+         * @return the p50 time in nanoseconds
+         */
+        public long getP50() { return getPercentile(50); }
+
+        /**
+         * Returns the approximate execution time that 99% of executions did not exceed.
+         * @return the p99 time in nanoseconds
+         */
+        public long getP99() { return getPercentile(99); }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("sql", sql)
+                    .append("count", getCount())
+                    .append("totalRows", getTotalRows())
+                    .append("p50", getP50())
+                    .append("p99", getP99())
+                    .append("max", getMaxTime())
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A database transaction started with {@link Database#beginTransaction}.
+ * While the transaction is active every operation on the thread that started it runs on the same connection
+ * with auto-commit disabled, so a group of writes is committed once instead of after each statement.
+ * The transaction should be used in a try-with-resources block, if it is closed without being
+ * committed it is rolled back.
+ * @since 1.6.0
+ */
+public final class Transaction implements AutoCloseable {
+    private final Database db;
+    private final java.sql.Connection connection;
+    private final boolean previousAutoCommit;
+    private final int previousIsolationLevel;
+    private final int isolationLevel;
+    private final Set<String> writtenTables = new HashSet<>();
+    private boolean active = true;
+
+    Transaction(final Database db, final java.sql.Connection connection, final int isolationLevel)
+            throws SQLException {
+        this.db = db;
+        this.connection = connection;
+        previousAutoCommit = connection.getAutoCommit();
+        previousIsolationLevel = connection.getTransactionIsolation();
+        if(isolationLevel != -1 && isolationLevel != previousIsolationLevel) {
+            connection.setTransactionIsolation(isolationLevel);
+        }
+        this.isolationLevel = connection.getTransactionIsolation();
+        try {
+            connection.setAutoCommit(false);
+        } catch(final SQLException e) {
+            restore();
+            throw e;
+        }
+    }
+
+    /**
+     * Commits all changes made since the transaction started and ends the transaction.
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if the transaction has already ended
+     */
+    public void commit() throws SQLException {
+        assertActive();
+        try {
+            connection.commit();
+        } finally {
+            end();
+            //Other connections may have cached the old rows while the transaction was active
+            db.getQueryCache().invalidate(writtenTables);
+        }
+    }
+
+    /**
+     * Undoes all changes made since the transaction started and ends the transaction.
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if the transaction has already ended
+     */
+    public void rollback() throws SQLException {
+        assertActive();
+        try {
+            connection.rollback();
+        } finally {
+            end();
+            db.afterRollback();
+        }
+    }
+
+    /**
+     * Checks if the transaction has not been committed or rolled back.
+     * @return true if the transaction is active
+     */
+    public boolean isActive() { return active; }
+
+    /**
+     * Returns the isolation level of the transaction.
+     * @return one of the {@code java.sql.Connection.TRANSACTION_*} isolation levels
+     */
+    public int getIsolationLevel() { return isolationLevel; }
+
+    /**
+     * Returns the connection that the operations of the transaction run on.
+     * @return the connection of the transaction
+     */
+    public java.sql.Connection getConnection() { return connection; }
+
+    /**
+     * Rolls back the transaction if it has not been committed.
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public void close() throws SQLException { if(active) rollback(); }
+
+    /**
+     * Adds tables that are written by the transaction, their cached query results are invalidated on commit.
+     * @param tables the upper case names of the tables
+     */
+    void addWrittenTables(final Collection<String> tables) { writtenTables.addAll(tables); }
+
+    private void end() throws SQLException {
+        active = false;
+        try {
+            restore();
+        } finally {
+            db.getConnection().endTransaction(this);
+        }
+    }
+
+    private void restore() throws SQLException {
+        if(connection.getAutoCommit() != previousAutoCommit) connection.setAutoCommit(previousAutoCommit);
+        if(connection.getTransactionIsolation() != previousIsolationLevel) {
+            connection.setTransactionIsolation(previousIsolationLevel);
+        }
+    }
+
+    private void assertActive() {
+        if(!active) throw new IllegalStateException("Transaction Is Not Active!");
+    }
+}
@@ -5,12 +5,17 @@ import com.jgcomptech.tools.databasetools.jdbc.builders.*;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 /**
  * A class that creates a PreparedStatement without having to type native sql code.
+ * The statement is closed when the result-set of a query is closed or once any other statement type is executed.
  * @since 1.4.0
  */
-public class TypedStatement {
+public class TypedStatement implements AutoCloseable {
     /** A list of possible statement types. */
     public enum Type {
         CREATE,
@@ -18,11 +23,23 @@ public class TypedStatement {
         INSERT,
         QUERY,
         UPDATE,
+        UPSERT,
     }
 
-    private final PreparedStatement statement;
+    private PreparedStatement statement;
     private final String sql;
+    private final List<Object> parameters;
     private final Type type;
+    private final Database db;
+    private final Set<String> tables;
+    private final int batchSize;
+    private final int columnCount;
+    private final List<Integer> batchCounts = new ArrayList<>();
+    private int pendingRows;
+    private boolean restoreAutoCommit;
+    private boolean returnGeneratedKeys;
+    private long[] generatedKeys = new long[0];
+    private int generatedKeyCount;
 
     /**
      * Creates a query SELECT statement.
@@ -33,7 +50,12 @@ public class TypedStatement {
         statement = builder.getStatement();
         statement.closeOnCompletion();
         sql = builder.toString();
+        parameters = builder.getParameters();
         type = Type.QUERY;
+        db = builder.getDatabase();
+        tables = Set.of();
+        batchSize = 0;
+        columnCount = 0;
     }
 
     /**
@@ -45,7 +67,12 @@ public class TypedStatement {
         statement = builder.getStatement();
         statement.closeOnCompletion();
         sql = builder.toString();
+        parameters = builder.getParameters();
         type = Type.UPDATE;
+        db = builder.getDatabase();
+        tables = builder.getTables();
+        batchSize = 0;
+        columnCount = 0;
     }
 
     /**
@@ -57,7 +84,12 @@ public class TypedStatement {
         statement = builder.getStatement();
         statement.closeOnCompletion();
         sql = builder.toString();
+        parameters = builder.getParameters();
         type = Type.DELETE;
+        db = builder.getDatabase();
+        tables = builder.getTables();
+        batchSize = 0;
+        columnCount = 0;
     }
 
     /**
@@ -69,7 +101,59 @@ public class TypedStatement {
         statement = builder.getStatement();
         statement.closeOnCompletion();
         sql = builder.toString();
+        parameters = builder.getParameters();
         type = Type.INSERT;
+        db = builder.getDatabase();
+        tables = builder.getTables();
+        batchSize = 0;
+        columnCount = builder.getColumnCount();
+        returnGeneratedKeys = builder.isReturnGeneratedKeys();
+    }
+
+    /**
+     * Creates an INSERT statement in batch mode, rows are added with {@link #addBatch}
+     * and sent to the database each time the batch size is reached.
+     * If the connection is in auto-commit mode each batch is committed as a single transaction.
+     * @param builder the InsertBuilder that contains the statement
+     * @param batchSize the number of rows to send to the database at once
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the batch size is less than 1
+     * @since 1.6.0
+     */
+    public TypedStatement(final InsertBuilder builder, final int batchSize) throws SQLException {
+        if(batchSize < 1) throw new IllegalArgumentException("Batch Size Must Be At Least 1!");
+        statement = builder.getStatement();
+        sql = builder.toString();
+        parameters = builder.getParameters();
+        type = Type.INSERT;
+        db = builder.getDatabase();
+        tables = builder.getTables();
+        this.batchSize = batchSize;
+        columnCount = builder.getColumnCount();
+        returnGeneratedKeys = builder.isReturnGeneratedKeys();
+        final var connection = statement.getConnection();
+        if(connection.getAutoCommit()) {
+            connection.setAutoCommit(false);
+            restoreAutoCommit = true;
+        }
+    }
+
+    /**
+     * Creates an UPSERT statement.
+     * @param builder the UpsertBuilder that contains the statement
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public TypedStatement(final UpsertBuilder builder) throws SQLException {
+        statement = builder.getStatement();
+        statement.closeOnCompletion();
+        sql = builder.toString();
+        parameters = builder.getParameters();
+        type = Type.UPSERT;
+        db = builder.getDatabase();
+        tables = builder.getTables();
+        batchSize = 0;
+        columnCount = 0;
     }
 
     /**
@@ -81,7 +165,12 @@ public class TypedStatement {
         statement = builder.getStatement();
         statement.closeOnCompletion();
         sql = builder.toString();
+        parameters = builder.getParameters();
         type = Type.CREATE;
+        db = builder.getDatabase();
+        tables = Set.of();
+        batchSize = 0;
+        columnCount = 0;
     }
 
     /**
@@ -93,7 +182,12 @@ public class TypedStatement {
         statement = builder.getStatement();
         statement.closeOnCompletion();
         sql = builder.toString();
+        parameters = builder.getParameters();
         type = Type.CREATE;
+        db = builder.getDatabase();
+        tables = Set.of();
+        batchSize = 0;
+        columnCount = 0;
     }
 
     /**
@@ -120,6 +214,13 @@ public class TypedStatement {
      */
     public static InsertBuilder newInsert() { return new InsertBuilder(); }
 
+    /**
+     * Creates a new instance of the UpsertBuilder.
+     * @return a new instance of the UpsertBuilder
+     * @since 1.6.0
+     */
+    public static UpsertBuilder newUpsert() { return new UpsertBuilder(); }
+
     /**
      * Creates a new instance of the TableBuilder.
      * @return a new instance of the TableBuilder
@@ -147,11 +248,103 @@ public class TypedStatement {
      * Executes the statement and returns the number of rows updated.
      * @return the result of the statement as the number of rows updated
      * @throws SQLException if a database access error occurs
-     * @throws UnsupportedOperationException if statement is not a INSERT statement
+     * @throws UnsupportedOperationException if statement is not a INSERT statement or is in batch mode
      */
     public int executeInsert() throws SQLException {
-        if(type == Type.INSERT) return statement.executeUpdate();
-        else throw new UnsupportedOperationException("Statement Cannot Be Run As An Insert! The type is " + type);
+        if(isBatch()) throw new UnsupportedOperationException("Batch Statement Cannot Be Run As An Insert!");
+        if(type == Type.INSERT) {
+            try(final var stmt = statement) { return stmt.executeUpdate(); }
+            finally { invalidateQueryCache(); }
+        } else throw new UnsupportedOperationException("Statement Cannot Be Run As An Insert! The type is " + type);
+    }
+
+    /**
+     * Executes the statement and returns the keys that the database generated for the inserted rows,
+     * the keys must be requested with {@link InsertBuilder#returnGeneratedKeys} before the statement is built.
+     * SQLite only reports the key of the last inserted row, the keys of the other rows of a statement
+     * are derived from it which is exact for an {@code INTEGER PRIMARY KEY} that is assigned by the database.
+     * @return the generated keys in the order of the rows, read from the first key column
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if the generated keys were not requested
+     * @throws UnsupportedOperationException if statement is not a INSERT statement or is in batch mode
+     * @since 1.6.0
+     */
+    public long[] executeInsertReturningKeys() throws SQLException {
+        assertReturningKeys();
+        try(final var stmt = statement) { return readKeys(stmt.executeUpdate()); }
+        finally { invalidateQueryCache(); }
+    }
+
+    /**
+     * Executes the statement and returns the rows of keys that the database generated for the inserted rows
+     * mapped by the specified mapper, use this method if the table has a key made of several columns.
+     * The keys must be requested with {@link InsertBuilder#returnGeneratedKeys} before the statement is built.
+     * @param <T> the type of object each row of keys is mapped to
+     * @param mapper the mapper that converts each row of keys to an object
+     * @return the mapped keys in the order of the rows
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if the generated keys were not requested
+     * @throws UnsupportedOperationException if statement is not a INSERT statement or is in batch mode
+     * @since 1.6.0
+     */
+    public <T> List<T> executeInsertReturningKeys(final RowMapper<T> mapper) throws SQLException {
+        if(mapper == null) throw new IllegalArgumentException("Row Mapper Cannot Be Null!");
+        assertReturningKeys();
+        try(final var stmt = statement) {
+            stmt.executeUpdate();
+            final var keys = new ArrayList<T>();
+            try(final var rs = stmt.getGeneratedKeys()) {
+                while(rs.next()) keys.add(mapper.mapRow(rs));
+            }
+            return keys;
+        } finally { invalidateQueryCache(); }
+    }
+
+    private void assertReturningKeys() {
+        if(isBatch()) throw new UnsupportedOperationException("Batch Statement Cannot Be Run As An Insert!");
+        if(type != Type.INSERT) {
+            throw new UnsupportedOperationException("Statement Cannot Be Run As An Insert! The type is " + type);
+        }
+        if(!returnGeneratedKeys) throw new IllegalStateException("Generated Keys Were Not Requested!");
+    }
+
+    /**
+     * Reads the generated keys of the last execution from the first key column.
+     * @param rows the number of rows that were inserted
+     * @return the generated keys
+     * @throws SQLException if a database access error occurs
+     */
+    private long[] readKeys(final int rows) throws SQLException {
+        var keys = new long[Math.max(rows, 1)];
+        var count = 0;
+        try(final var rs = statement.getGeneratedKeys()) {
+            while(rs.next()) {
+                if(count == keys.length) keys = Arrays.copyOf(keys, count * 2);
+                keys[count++] = rs.getLong(1);
+            }
+        }
+        if(count == 1 && rows > 1 && db != null && db.getInfo().getDbType() == DatabaseType.SQLite) {
+            //SQLite returns last_insert_rowid() and assigns the rowids of a single statement in order
+            final var last = keys[0];
+            keys = new long[rows];
+            for(var i = 0; i < rows; i++) keys[i] = last - rows + 1 + i;
+            return keys;
+        }
+        return count == keys.length ? keys : Arrays.copyOf(keys, count);
+    }
+
+    /**
+     * Executes the statement and returns the number of rows inserted or updated.
+     * @return the result of the statement as the number of rows inserted or updated
+     * @throws SQLException if a database access error occurs
+     * @throws UnsupportedOperationException if statement is not a UPSERT statement
+     * @since 1.6.0
+     */
+    public int executeUpsert() throws SQLException {
+        if(type == Type.UPSERT) {
+            try(final var stmt = statement) { return stmt.executeUpdate(); }
+            finally { invalidateQueryCache(); }
+        } else throw new UnsupportedOperationException("Statement Cannot Be Run As An Upsert! The type is " + type);
     }
 
     /**
@@ -161,8 +354,10 @@ public class TypedStatement {
      * @throws UnsupportedOperationException if statement is not a UPDATE statement
      */
     public int executeUpdate() throws SQLException {
-        if(type == Type.UPDATE) return statement.executeUpdate();
-        else throw new UnsupportedOperationException("Statement Cannot Be Run As An Update! The type is " + type);
+        if(type == Type.UPDATE) {
+            try(final var stmt = statement) { return stmt.executeUpdate(); }
+            finally { invalidateQueryCache(); }
+        } else throw new UnsupportedOperationException("Statement Cannot Be Run As An Update! The type is " + type);
     }
 
     /**
@@ -173,8 +368,10 @@ public class TypedStatement {
      * @throws UnsupportedOperationException if statement is not a UPDATE statement
      */
     public long executeLargeUpdate() throws SQLException {
-        if(type == Type.UPDATE) return statement.executeLargeUpdate();
-        else throw new UnsupportedOperationException("Statement Cannot Be Run As An Update! The type is " + type);
+        if(type == Type.UPDATE) {
+            try(final var stmt = statement) { return stmt.executeLargeUpdate(); }
+            finally { invalidateQueryCache(); }
+        } else throw new UnsupportedOperationException("Statement Cannot Be Run As An Update! The type is " + type);
     }
 
     /**
@@ -184,8 +381,172 @@ public class TypedStatement {
      * @throws UnsupportedOperationException if statement is not a CREATE statement
      */
     public boolean executeCreate() throws SQLException {
-        if(type == Type.CREATE) return statement.execute();
-        else throw new UnsupportedOperationException("Statement Cannot Be Run As A Create! The type is " + type);
+        if(type == Type.CREATE) {
+            try(final var stmt = statement) { return stmt.execute(); }
+            finally { if(db != null) db.getInfo().refresh(); }
+        } else throw new UnsupportedOperationException("Statement Cannot Be Run As A Create! The type is " + type);
+    }
+
+    /**
+     * Adds a row to the batch, the values are bound in the order of the columns of the INSERT statement.
+     * If the batch size is reached the pending rows are sent to the database.
+     * @param values the values of the row to insert
+     * @return an instance of this object for use as a builder pattern
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the number of values does not match the number of columns
+     * @throws UnsupportedOperationException if statement is not in batch mode
+     * @since 1.6.0
+     */
+    public TypedStatement addBatch(final Object... values) throws SQLException {
+        assertBatch();
+        if(values == null || values.length != columnCount) {
+            throw new IllegalArgumentException("Value Count Must Match Column Count!");
+        }
+        SQLBuilder.bindParameters(statement, Arrays.asList(values));
+        statement.addBatch();
+        if(++pendingRows >= batchSize) flushBatch();
+        return this;
+    }
+
+    /**
+     * Sends the pending rows to the database and closes the statement.
+     * @return the number of rows inserted by each batch that was sent to the database
+     * @throws SQLException if a database access error occurs
+     * @throws UnsupportedOperationException if statement is not in batch mode
+     * @since 1.6.0
+     */
+    public int[] executeBatch() throws SQLException {
+        assertBatch();
+        try(this) {
+            flushBatch();
+            return getBatchCounts();
+        }
+    }
+
+    /**
+     * Discards the rows that were added since the last batch was sent to the database,
+     * use this before closing the statement if the rows of an incomplete batch must not be inserted.
+     * @throws SQLException if a database access error occurs
+     * @throws UnsupportedOperationException if statement is not in batch mode
+     * @since 1.6.0
+     */
+    public void clearBatch() throws SQLException {
+        assertBatch();
+        if(pendingRows == 0) return;
+        pendingRows = 0;
+        statement.clearBatch();
+    }
+
+    /**
+     * Returns the number of rows inserted by each batch that was sent to the database so far.
+     * Rows that the driver reports as {@link java.sql.Statement#SUCCESS_NO_INFO} are counted as one row.
+     * @return the number of rows inserted by each batch
+     * @since 1.6.0
+     */
+    public int[] getBatchCounts() { return batchCounts.stream().mapToInt(Integer::intValue).toArray(); }
+
+    /**
+     * Checks if the statement is an INSERT statement in batch mode.
+     * @return true if the statement is in batch mode
+     * @since 1.6.0
+     */
+    public boolean isBatch() { return batchSize > 0; }
+
+    /**
+     * Returns the number of rows that are sent to the database at once.
+     * @return the batch size, 0 if the statement is not in batch mode
+     * @since 1.6.0
+     */
+    public int getBatchSize() { return batchSize; }
+
+    /**
+     * Returns the keys that the database generated for the rows of all batches that were sent so far,
+     * the keys must be requested with {@link InsertBuilder#returnGeneratedKeys} before the statement is built.
+     * @return the generated keys in the order of the rows, read from the first key column
+     * @throws IllegalStateException if the generated keys were not requested
+     * @throws UnsupportedOperationException if statement is not in batch mode
+     * @since 1.6.0
+     */
+    public long[] getGeneratedKeys() {
+        assertBatch();
+        if(!returnGeneratedKeys) throw new IllegalStateException("Generated Keys Were Not Requested!");
+        return Arrays.copyOf(generatedKeys, generatedKeyCount);
+    }
+
+    private void flushBatch() throws SQLException {
+        if(pendingRows == 0) return;
+        pendingRows = 0;
+        final var connection = statement.getConnection();
+        try {
+            var count = 0;
+            for(final int result : statement.executeBatch()) {
+                if(result > 0) count += result;
+                else if(result == java.sql.Statement.SUCCESS_NO_INFO) count++;
+            }
+            if(returnGeneratedKeys) addGeneratedKeys(readKeys(count));
+            if(restoreAutoCommit) connection.commit();
+            batchCounts.add(count);
+        } catch(final SQLException e) {
+            if(restoreAutoCommit) connection.rollback();
+            throw e;
+        } finally {
+            invalidateQueryCache();
+        }
+    }
+
+    private void addGeneratedKeys(final long[] keys) {
+        if(generatedKeyCount + keys.length > generatedKeys.length) {
+            generatedKeys = Arrays.copyOf(generatedKeys, Math.max(generatedKeys.length * 2,
+                    generatedKeyCount + keys.length));
+        }
+        System.arraycopy(keys, 0, generatedKeys, generatedKeyCount, keys.length);
+        generatedKeyCount += keys.length;
+    }
+
+    private void invalidateQueryCache() {
+        if(db != null) db.getQueryCache().invalidate(tables);
+    }
+
+    /**
+     * Sets the number of seconds the statement may run before it is cancelled by the driver,
+     * this overrides the default timeout of the database connection.
+     * @param seconds the timeout in seconds, 0 to let the statement run indefinitely
+     * @return this statement
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the timeout is negative
+     * @since 1.6.0
+     */
+    public TypedStatement setQueryTimeout(final int seconds) throws SQLException {
+        if(seconds < 0) throw new IllegalArgumentException("Query Timeout Cannot Be Negative!");
+        statement = db.getConnection().withQueryTimeout(statement, seconds);
+        return this;
+    }
+
+    /**
+     * Returns the number of seconds the statement may run before it is cancelled by the driver.
+     * @return the timeout in seconds, 0 if the statement may run indefinitely
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public int getQueryTimeout() throws SQLException {
+        //The SQLite driver returns its busy timeout for statements that are not wrapped for a timeout
+        if(db.getConnection().isQueryTimeoutEmulated() && !ManagedStatement.isWrapped(statement)) return 0;
+        return statement.getQueryTimeout();
+    }
+
+    /**
+     * Cancels the statement while it is running, this is meant to be called from another thread
+     * than the one that executes the statement. The executing thread fails with an {@code SQLException}
+     * and the statement must still be closed by its owner. Nothing happens if the statement is not running.
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public void cancel() throws SQLException {
+        if(!statement.isClosed()) statement.cancel();
+    }
+
+    private void assertBatch() {
+        if(!isBatch()) throw new UnsupportedOperationException("Statement Is Not A Batch! The type is " + type);
     }
 
     /**
@@ -195,6 +556,37 @@ public class TypedStatement {
      */
     public PreparedStatement getStatement() { return statement; }
 
+    /**
+     * Closes the statement without executing it, in pooled mode this returns the connection to the pool.
+     * In batch mode the pending rows are sent to the database first, unless they were discarded
+     * with {@link #clearBatch}.
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    @Override
+    public void close() throws SQLException {
+        if(statement.isClosed()) return;
+        try {
+            if(isBatch()) flushBatch();
+        } finally {
+            try {
+                if(restoreAutoCommit) {
+                    restoreAutoCommit = false;
+                    statement.getConnection().setAutoCommit(true);
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the values that were bound to the placeholders of the statement.
+     * @return an unmodifiable list of the bind parameters, empty if inline values were used
+     * @since 1.6.0
+     */
+    public List<Object> getParameters() { return parameters; }
+
     /**
      * Returns the statement type.
      * @return the statement type
@@ -0,0 +1,23 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps an {@code SQLException} with an unchecked exception,
+ * thrown where the checked exception cannot be declared such as inside a {@code Stream}.
+ * @since 1.6.0
+ */
+public class UncheckedSQLException extends RuntimeException {
+    /**
+     * Constructs an {@code UncheckedSQLException} with the specified cause.
+     * @param cause the {@code SQLException}
+     */
+    public UncheckedSQLException(final SQLException cause) { super(cause.getMessage(), cause); }
+
+    /**
+     * Returns the cause of this exception.
+     * @return the {@code SQLException} which is the cause of this exception
+     */
+    @Override
+    public synchronized SQLException getCause() { return (SQLException) super.getCause(); }
+}
@@ -10,6 +10,17 @@ import java.sql.SQLException;
  * @since 1.4.0
  */
 public class DeleteBuilder extends SQLBuilder {
+    /**
+     * Adds all values added after this call as {@code ?} placeholders instead of inline literals,
+     * the values are bound when the statement is built so the same sql text is reused for different values.
+     * @return the instance of the builder to continue building
+     * @since 1.6.0
+     */
+    public DeleteBuilder useBindParameters() {
+        setUseBindParameters(true);
+        return this;
+    }
+
     /**
      * Begins the DELETE statement.
      * @param tableName the name of the table
@@ -22,6 +33,7 @@ public class DeleteBuilder extends SQLBuilder {
             throw new IllegalArgumentException("Table Name Cannot Be Empty!");
         } else {
             getSql().append("DELETE FROM ").append(tableName).append(' ');
+            addTable(tableName);
             return this;
         }
     }
@@ -34,7 +46,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, false, false, value);
+        new WhereBuilder(this).where(columnName, false, false, value);
         return this;
     }
 
@@ -46,7 +58,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_OR(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, false, true, value);
+        new WhereBuilder(this).where(columnName, false, true, value);
         return this;
     }
 
@@ -58,7 +70,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, true, false, value);
+        new WhereBuilder(this).where(columnName, true, false, value);
         return this;
     }
 
@@ -70,7 +82,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT_OR(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, true, true, value);
+        new WhereBuilder(this).where(columnName, true, true, value);
         return this;
     }
 
@@ -81,7 +93,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_IS_NULL(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, false, false);
+        new WhereBuilder(this).whereIsNull(columnName, false, false);
         return this;
     }
 
@@ -92,7 +104,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_IS_NOT_NULL(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, true, false);
+        new WhereBuilder(this).whereIsNull(columnName, true, false);
         return this;
     }
 
@@ -103,7 +115,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_IS_NULL_OR(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, false, true);
+        new WhereBuilder(this).whereIsNull(columnName, false, true);
         return this;
     }
 
@@ -114,7 +126,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_IS_NOT_NULL_OR(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, true, true);
+        new WhereBuilder(this).whereIsNull(columnName, true, true);
         return this;
     }
 
@@ -127,7 +139,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_IN(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, false, false, values);
+        new WhereBuilder(this).whereIn(columnName, false, false, values);
         return this;
     }
 
@@ -140,7 +152,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT_IN(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, true, false, values);
+        new WhereBuilder(this).whereIn(columnName, true, false, values);
         return this;
     }
 
@@ -153,7 +165,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_IN_OR(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, false, true, values);
+        new WhereBuilder(this).whereIn(columnName, false, true, values);
         return this;
     }
 
@@ -166,7 +178,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT_IN_OR(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, true, true, values);
+        new WhereBuilder(this).whereIn(columnName, true, true, values);
         return this;
     }
 
@@ -181,7 +193,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_BETWEEN(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, false, false, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, false, false, start, stop);
         return this;
     }
 
@@ -196,7 +208,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT_BETWEEN(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, true, false, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, true, false, start, stop);
         return this;
     }
 
@@ -211,7 +223,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_BETWEEN_OR(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, false, true, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, false, true, start, stop);
         return this;
     }
 
@@ -226,7 +238,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT_BETWEEN_OR(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, true, true, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, true, true, start, stop);
         return this;
     }
 
@@ -238,7 +250,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_EXISTS(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, false, false);
+        new WhereBuilder(this).whereExists(builder, false, false);
         return this;
     }
 
@@ -250,7 +262,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_EXISTS_OR(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, false, true);
+        new WhereBuilder(this).whereExists(builder, false, true);
         return this;
     }
 
@@ -262,7 +274,7 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT_EXISTS(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, true, false);
+        new WhereBuilder(this).whereExists(builder, true, false);
         return this;
     }
 
@@ -274,18 +286,18 @@ public class DeleteBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public DeleteBuilder WHERE_NOT_EXISTS_OR(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, true, true);
+        new WhereBuilder(this).whereExists(builder, true, true);
         return this;
     }
 
     private void assertSQLIsEmpty() {
-        if(!getSql().toString().trim().isEmpty()) {
+        if(!isEmpty()) {
             throw new IllegalStateException("DELETE Can Only Be Added To Beginning Of Statement!");
         }
     }
 
     private void assertSQLIsNotEmpty() {
-        if(getSql().toString().trim().isEmpty()) {
+        if(isEmpty()) {
             throw new IllegalStateException("Statement Empty, Please Add Statement!");
         }
     }
@@ -310,8 +322,11 @@ public class DeleteBuilder extends SQLBuilder {
      */
     public int buildAndDelete(final Database db) throws SQLException {
         setStatement(buildPreparedStatement(db));
-        getStatement().closeOnCompletion();
-        return getStatement().executeUpdate();
+        try(final var stmt = getStatement()) {
+            return stmt.executeUpdate();
+        } finally {
+            invalidateQueryCache();
+        }
     }
 
     /**
@@ -323,7 +338,10 @@ public class DeleteBuilder extends SQLBuilder {
      */
     public long buildAndLargeDelete(final Database db) throws SQLException {
         setStatement(buildPreparedStatement(db));
-        getStatement().closeOnCompletion();
-        return getStatement().executeLargeUpdate();
+        try(final var stmt = getStatement()) {
+            return stmt.executeLargeUpdate();
+        } finally {
+            invalidateQueryCache();
+        }
     }
 }
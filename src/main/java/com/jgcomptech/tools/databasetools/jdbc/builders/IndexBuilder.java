@@ -12,6 +12,7 @@ import java.sql.SQLException;
 public class IndexBuilder extends SQLBuilder {
     private boolean columnAdded;
     private Database db;
+    private String indexName;
     private String tableName;
 
     /**
@@ -33,6 +34,7 @@ public class IndexBuilder extends SQLBuilder {
             throw new IllegalArgumentException("Database Cannot Be Null!");
         } else {
             if(!db.getInfo().tableExists(tableName)) throw new IllegalStateException("Table Not Found!");
+            this.indexName = indexName;
             this.tableName = tableName;
             this.db = db;
             getSql().append("CREATE INDEX ").append(indexName).append(" ON ").append(tableName).append(" (");
@@ -59,6 +61,7 @@ public class IndexBuilder extends SQLBuilder {
             throw new IllegalArgumentException("Database Cannot Be Null!");
         } else {
             if(!db.getInfo().tableExists(tableName)) throw new IllegalStateException("Table Not Found!");
+            this.indexName = indexName;
             this.tableName = tableName;
             this.db = db;
             getSql().append("CREATE UNIQUE INDEX ").append(indexName).append(" ON ").append(tableName).append(" (");
@@ -85,13 +88,13 @@ public class IndexBuilder extends SQLBuilder {
     }
 
     private void assertSQLIsEmpty() {
-        if(!getSql().toString().trim().isEmpty()) {
+        if(!isEmpty()) {
             throw new IllegalStateException("CREATE Can Only Be Added To Beginning Of Statement!");
         }
     }
 
     private void assertSQLIsNotEmpty() {
-        if(getSql().toString().trim().isEmpty()) {
+        if(isEmpty()) {
             throw new IllegalStateException("Statement Empty, Please Add Statement!");
         }
     }
@@ -121,15 +124,29 @@ public class IndexBuilder extends SQLBuilder {
     }
 
     /**
-     * Runs buildPreparedStatement, executes the statement and returns true if no errors occurred.
+     * Runs buildPreparedStatement, executes the statement if the index does not already exist
+     * and returns true if no errors occurred.
      * @return the result of the statement as a boolean, true if no errors occurred
      * @throws SQLException if a database access error occurs
      */
     public boolean buildAndCreate() throws SQLException {
         getSql().append(')');
-        if(!db.getInfo().tableExists(tableName)) {
+        if(!db.getInfo().indexExists(tableName, indexName)) {
             setStatement(buildPreparedStatement(db));
-            return getStatement().execute();
+            try(final var stmt = getStatement()) {
+                return stmt.execute();
+            } finally {
+                db.getInfo().refresh();
+            }
         } else return false;
     }
+
+    /**
+     * Returns the database the index is created in, the schema cache of the database is refreshed
+     * once the statement is executed.
+     * @return the database object, null if CREATE has not been called
+     * @since 1.6.0
+     */
+    @Override
+    public Database getDatabase() { return db; }
 }
@@ -10,6 +10,41 @@ import java.sql.SQLException;
  * @since 1.4.0
  */
 public class InsertBuilder extends SQLBuilder {
+    private int columnCount;
+    private int rowCount;
+    private boolean returnGeneratedKeys;
+
+    /**
+     * Adds all values added after this call as {@code ?} placeholders instead of inline literals,
+     * the values are bound when the statement is built so the same sql text is reused for different values.
+     * @return the instance of the builder to continue building
+     * @since 1.6.0
+     */
+    public InsertBuilder useBindParameters() {
+        setUseBindParameters(true);
+        return this;
+    }
+
+    /**
+     * Requests the keys that the database generates for the inserted rows, such as the value of an
+     * auto increment column, so they can be read with {@link TypedStatement#executeInsertReturningKeys}
+     * or {@link TypedStatement#getGeneratedKeys} without running another query.
+     * @return the instance of the builder to continue building
+     * @since 1.6.0
+     */
+    public InsertBuilder returnGeneratedKeys() {
+        returnGeneratedKeys = true;
+        return this;
+    }
+
+    /**
+     * Checks if the keys generated by the database are requested.
+     * @return true if {@link #returnGeneratedKeys} was called
+     * @since 1.6.0
+     */
+    @Override
+    public boolean isReturnGeneratedKeys() { return returnGeneratedKeys; }
+
     /**
      * Generates sql code to insert a row into a table.
      * @param tableName the name of the table
@@ -25,6 +60,7 @@ public class InsertBuilder extends SQLBuilder {
             throw new IllegalArgumentException("Column Names Cannot Be Empty!");
         } else {
             getSql().append("INSERT INTO ").append(tableName).append(" (");
+            addTable(tableName);
             var firstAdded = false;
             for (final var columnName : columnNames) {
                 if(firstAdded) {
@@ -34,48 +70,72 @@ public class InsertBuilder extends SQLBuilder {
             }
 
             getSql().append(") ");
+            columnCount = columnNames.length;
             return this;
         }
     }
 
     /**
-     * Finishes the INSERT statement specifying the values to insert.
+     * Finishes the INSERT statement specifying the values to insert,
+     * calling this method again adds another row to the statement.
      * The order of the VALUES statements must match the column order in the INSERT statement.
      * @param values the values to insert into the new row
      * @return the instance of the builder to continue building
      * @throws IllegalStateException if the INSERT_INTO statement is not called first
      */
     public InsertBuilder VALUES(final String... values) {
+        return VALUES((Object[]) values);
+    }
+
+    /**
+     * Finishes the INSERT statement specifying the values to insert, if bind parameters are used
+     * the values keep their type when bound to the statement.
+     * Calling this method again adds another row to the statement.
+     * The order of the VALUES statements must match the column order in the INSERT statement.
+     * @param values the values to insert into the new row
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if the INSERT_INTO statement is not called first
+     * @since 1.6.0
+     */
+    public InsertBuilder VALUES(final Object... values) {
         assertSQLIsNotEmpty();
         if(values == null || values.length == 0) {
             throw new IllegalArgumentException("Column Names Cannot Be Empty!");
         } else {
-            getSql().append("VALUES (");
+            if(rowCount == 0) getSql().append("VALUES (");
+            else {
+                getSql().setLength(getSql().length() - 1);
+                getSql().append(", (");
+            }
             var firstAdded = false;
             for (final var value : values) {
-                if(firstAdded) {
-                    getSql().append(", '").append(value).append('\'');
-                } else getSql().append('\'').append(value).append('\'');
+                if(firstAdded) getSql().append(", ");
+                appendValue(value);
                 firstAdded = true;
             }
 
             getSql().append(") ");
+            rowCount++;
             return this;
         }
     }
 
     private void assertSQLIsEmpty() {
-        if(!getSql().toString().trim().isEmpty()) {
+        if(!isEmpty()) {
             throw new IllegalStateException("INSERT INTO Can Only Be Added To Beginning Of Statement!");
         }
     }
 
     private void assertSQLIsNotEmpty() {
-        if(getSql().toString().trim().isEmpty()) {
+        if(isEmpty()) {
             throw new IllegalStateException("Statement Empty, Please Add Statement!");
         }
     }
 
+    private void assertValuesAdded() {
+        if(rowCount == 0) throw new IllegalStateException("No VALUES Added, Please Add Values!");
+    }
+
     /**
      * Runs buildPreparedStatement and passes this object to a new instance of {@link TypedStatement}.
      * @param db the database to request the {@code PreparedStatement} object from
@@ -84,10 +144,42 @@ public class InsertBuilder extends SQLBuilder {
      */
     @Override
     public TypedStatement build(final Database db) throws SQLException {
+        assertValuesAdded();
         setStatement(buildPreparedStatement(db));
         return new TypedStatement(this);
     }
 
+    /**
+     * Finishes the INSERT statement with a row of {@code ?} placeholders, runs buildPreparedStatement
+     * and passes this object to a new instance of {@link TypedStatement} in batch mode.
+     * Rows are added with {@link TypedStatement#addBatch} and are sent to the database
+     * every time the batch size is reached.
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @param batchSize the number of rows to send to the database at once
+     * @return a new instance of {@link TypedStatement} in batch mode
+     * @throws IllegalStateException if the INSERT_INTO statement is not called first or if VALUES was called
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public TypedStatement buildBatch(final Database db, final int batchSize) throws SQLException {
+        assertSQLIsNotEmpty();
+        if(rowCount != 0) throw new IllegalStateException("VALUES Cannot Be Used With A Batch!");
+        if(batchSize < 1) throw new IllegalArgumentException("Batch Size Must Be At Least 1!");
+        getSql().append("VALUES (");
+        for(var i = 0; i < columnCount; i++) getSql().append(i == 0 ? "?" : ", ?");
+        getSql().append(") ");
+        rowCount++;
+        setStatement(buildPreparedStatement(db));
+        return new TypedStatement(this, batchSize);
+    }
+
+    /**
+     * Returns the number of columns in the INSERT statement.
+     * @return the number of columns
+     * @since 1.6.0
+     */
+    public int getColumnCount() { return columnCount; }
+
     /**
      * Runs buildPreparedStatement, executes the statement and returns the number of rows updated.
      * @param db the database to request the {@code PreparedStatement} object from
@@ -95,8 +187,25 @@ public class InsertBuilder extends SQLBuilder {
      * @throws SQLException if a database access error occurs
      */
     public int buildAndInsert(final Database db) throws SQLException {
+        assertValuesAdded();
         setStatement(buildPreparedStatement(db));
-        getStatement().closeOnCompletion();
-        return getStatement().executeUpdate();
+        try(final var stmt = getStatement()) {
+            return stmt.executeUpdate();
+        } finally {
+            invalidateQueryCache();
+        }
+    }
+
+    /**
+     * Requests the generated keys, runs buildPreparedStatement, executes the statement
+     * and returns the keys that the database generated for the inserted rows.
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @return the generated keys in the order of the rows, read from the first key column
+     * @throws SQLException if a database access error occurs
+     * @see TypedStatement#executeInsertReturningKeys()
+     * @since 1.6.0
+     */
+    public long[] buildAndInsertReturningKeys(final Database db) throws SQLException {
+        return returnGeneratedKeys().build(db).executeInsertReturningKeys();
     }
 }
@@ -1,10 +1,23 @@
 package com.jgcomptech.tools.databasetools.jdbc.builders;
 
 import com.jgcomptech.tools.databasetools.jdbc.Database;
+import com.jgcomptech.tools.databasetools.jdbc.DatabaseType;
+import com.jgcomptech.tools.databasetools.jdbc.QueryCache;
+import com.jgcomptech.tools.databasetools.jdbc.RowMapper;
 import com.jgcomptech.tools.databasetools.jdbc.TypedStatement;
+import com.jgcomptech.tools.databasetools.jdbc.UncheckedSQLException;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A builder class for creating a SELECT sql statement to query the database.
@@ -22,6 +35,52 @@ public class QueryBuilder extends SQLBuilder {
         DISTINCT_SUM
     }
 
+    private static final String COUNT_RESULT = "COUNT";
+    private static final String EXISTS_RESULT = "EXISTS";
+    private static final Set<String> COMPARISON_OPERATORS = Set.of("=", "<>", "<", "<=", ">", ">=");
+
+    private long limit = -1;
+    private long offset;
+    private boolean useCache;
+
+    /**
+     * Adds all values added after this call as {@code ?} placeholders instead of inline literals,
+     * the values are bound when the statement is built so the same sql text is reused for different values.
+     * @return the instance of the builder to continue building
+     * @since 1.6.0
+     */
+    public QueryBuilder useBindParameters() {
+        setUseBindParameters(true);
+        return this;
+    }
+
+    /**
+     * Caches the results of {@link #list}, {@link #count} and {@link #existsAny} in the query cache
+     * of the database, results are only cached if the query cache is enabled with {@link QueryCache#enable}.
+     * The row mapper is part of the cache key so a method reference or a lambda that captures nothing
+     * should be used for the cached result to be found again.
+     * @return the instance of the builder to continue building
+     * @since 1.6.0
+     */
+    public QueryBuilder useCache() {
+        useCache = true;
+        return this;
+    }
+
+    /**
+     * Sets the number of seconds the query may run before it is cancelled by the driver,
+     * this overrides the default timeout of the database connection.
+     * Use {@link #build} and {@link TypedStatement#cancel} to cancel a query from another thread.
+     * @param seconds the timeout in seconds, 0 to let the query run indefinitely
+     * @return the instance of the builder to continue building
+     * @since 1.6.0
+     */
+    public QueryBuilder useQueryTimeout(final int seconds) {
+        if(seconds < 0) throw new IllegalArgumentException("Query Timeout Cannot Be Negative!");
+        setQueryTimeout(seconds);
+        return this;
+    }
+
     /**
      * This statement returns all rows in all columns from the table.
      * @return the instance of the builder to continue building
@@ -43,7 +102,10 @@ public class QueryBuilder extends SQLBuilder {
     public QueryBuilder SELECT_COUNT_ALL_FROM(final QueryBuilder builder) {
         assertSQLIsEmpty();
         getSql().append("SELECT COUNT(*) ").append("AS FinalCount ");
-        getSql().append("FROM (").append(builder.toString().replace(";", "")).append(')');
+        getSql().append("FROM (");
+        addClause(Clause.FROM);
+        appendSubQuery(builder);
+        getSql().append(") ");
         return this;
     }
 
@@ -162,6 +224,90 @@ public class QueryBuilder extends SQLBuilder {
      */
     public QueryBuilder SELECT_MAX(final String columnName) { return selectBuilder(columnName, SelectType.MAX); }
 
+    /**
+     * Adds the number of rows with a value in the specified column to the columns of the SELECT statement,
+     * use {@code *} to count all rows. Aggregates can be combined with each other and with the columns
+     * of a previous SELECT, the other columns must be added to {@link #GROUP_BY}.
+     * If no SELECT has been added the SELECT statement is started.
+     * @param columnName the column to count the values of
+     * @param alias the name of the column in the result table, null to let the database name the column
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder COUNT(final String columnName, final String alias) {
+        return aggregate(columnName, alias, SelectType.COUNT);
+    }
+
+    /**
+     * Adds the sum of all the values in the specified column to the columns of the SELECT statement,
+     * if no SELECT has been added the SELECT statement is started.
+     * @param columnName the column to sum the values of
+     * @param alias the name of the column in the result table, null to let the database name the column
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder SUM(final String columnName, final String alias) {
+        return aggregate(columnName, alias, SelectType.SUM);
+    }
+
+    /**
+     * Adds the average of all the values in the specified column to the columns of the SELECT statement,
+     * if no SELECT has been added the SELECT statement is started.
+     * @param columnName the column to average the values of
+     * @param alias the name of the column in the result table, null to let the database name the column
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder AVG(final String columnName, final String alias) {
+        return aggregate(columnName, alias, SelectType.AVG);
+    }
+
+    /**
+     * Adds the lowest of all the values in the specified column to the columns of the SELECT statement,
+     * if no SELECT has been added the SELECT statement is started.
+     * @param columnName the column to find the lowest value of
+     * @param alias the name of the column in the result table, null to let the database name the column
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder MIN(final String columnName, final String alias) {
+        return aggregate(columnName, alias, SelectType.MIN);
+    }
+
+    /**
+     * Adds the highest of all the values in the specified column to the columns of the SELECT statement,
+     * if no SELECT has been added the SELECT statement is started.
+     * @param columnName the column to find the highest value of
+     * @param alias the name of the column in the result table, null to let the database name the column
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder MAX(final String columnName, final String alias) {
+        return aggregate(columnName, alias, SelectType.MAX);
+    }
+
+    private QueryBuilder aggregate(final String columnName, final String alias, final SelectType type) {
+        if(columnName == null || columnName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Column Name Cannot Be Empty!");
+        }
+        if(isEmpty()) getSql().append("SELECT ");
+        else if(hasClause(Clause.FROM)) {
+            throw new IllegalStateException("Aggregates Must Be Added Before FROM!");
+        } else {
+            getSql().setLength(getSql().length() - 1);
+            getSql().append(", ");
+        }
+        getSql().append(type.name()).append('(').append(columnName).append(')');
+        if(alias != null && !alias.trim().isEmpty()) getSql().append(" AS ").append(alias);
+        getSql().append(' ');
+        return this;
+    }
+
     /**
      * Builds the SELECT statement with the specified statement type.
      * @param columnName the column to use for the query
@@ -216,10 +362,63 @@ public class QueryBuilder extends SQLBuilder {
             throw new IllegalArgumentException("Table Name Cannot Be Empty!");
         } else {
             getSql().append("FROM ").append(tableName).append(' ');
+            addClause(Clause.FROM);
+            addTable(tableName);
             return this;
         }
     }
 
+    /**
+     * Joins the rows of the specified table that match the rows of the query,
+     * rows without a match in both tables are not returned.
+     * The join runs in the database so an index on the joined column is used to find the matching rows.
+     * @param tableName the name of the table to join, an alias may follow the name
+     * @param leftColumn the column of the tables already in the query to match
+     * @param rightColumn the column of the joined table to match
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has not been called or WHERE has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder INNER_JOIN(final String tableName, final String leftColumn, final String rightColumn) {
+        return join("INNER JOIN ", tableName, leftColumn, rightColumn);
+    }
+
+    /**
+     * Joins the rows of the specified table that match the rows of the query,
+     * rows of the query without a match are returned with {@code NULL} in the columns of the joined table.
+     * The join runs in the database so an index on the joined column is used to find the matching rows.
+     * @param tableName the name of the table to join, an alias may follow the name
+     * @param leftColumn the column of the tables already in the query to match
+     * @param rightColumn the column of the joined table to match
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has not been called or WHERE has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder LEFT_JOIN(final String tableName, final String leftColumn, final String rightColumn) {
+        return join("LEFT JOIN ", tableName, leftColumn, rightColumn);
+    }
+
+    private QueryBuilder join(final String joinType, final String tableName,
+                              final String leftColumn, final String rightColumn) {
+        assertSQLIsNotEmpty();
+        if(tableName == null || tableName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Table Name Cannot Be Empty!");
+        }
+        if(leftColumn == null || leftColumn.trim().isEmpty()
+                || rightColumn == null || rightColumn.trim().isEmpty()) {
+            throw new IllegalArgumentException("Join Columns Cannot Be Empty!");
+        }
+        if(!hasClause(Clause.FROM)) throw new IllegalStateException("JOIN Must Be Added After FROM!");
+        if(hasClause(Clause.WHERE) || hasClause(Clause.GROUP_BY) || hasClause(Clause.ORDER_BY)) {
+            throw new IllegalStateException("JOIN Must Be Added Before WHERE!");
+        }
+        getSql().append(joinType).append(tableName)
+                .append(" ON ").append(leftColumn).append(" = ").append(rightColumn).append(' ');
+        addClause(Clause.JOIN);
+        addTable(tableName);
+        return this;
+    }
+
     /**
      * Specifies a condition to constrain the SELECT statement
      * and if this is not the first WHERE added it is separated by AND.
@@ -228,7 +427,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, false, false, value);
+        new WhereBuilder(this).where(columnName, false, false, value);
         return this;
     }
 
@@ -240,7 +439,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_OR(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, false, true, value);
+        new WhereBuilder(this).where(columnName, false, true, value);
         return this;
     }
 
@@ -252,7 +451,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, true, false, value);
+        new WhereBuilder(this).where(columnName, true, false, value);
         return this;
     }
 
@@ -264,7 +463,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT_OR(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, true, true, value);
+        new WhereBuilder(this).where(columnName, true, true, value);
         return this;
     }
 
@@ -275,7 +474,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_IS_NULL(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, false, false);
+        new WhereBuilder(this).whereIsNull(columnName, false, false);
         return this;
     }
 
@@ -286,7 +485,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_IS_NOT_NULL(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, true, false);
+        new WhereBuilder(this).whereIsNull(columnName, true, false);
         return this;
     }
 
@@ -297,7 +496,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_IS_NULL_OR(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, false, true);
+        new WhereBuilder(this).whereIsNull(columnName, false, true);
         return this;
     }
 
@@ -308,7 +507,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_IS_NOT_NULL_OR(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, true, true);
+        new WhereBuilder(this).whereIsNull(columnName, true, true);
         return this;
     }
 
@@ -321,7 +520,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_IN(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, false, false, values);
+        new WhereBuilder(this).whereIn(columnName, false, false, values);
         return this;
     }
 
@@ -334,7 +533,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT_IN(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, true, false, values);
+        new WhereBuilder(this).whereIn(columnName, true, false, values);
         return this;
     }
 
@@ -347,7 +546,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_IN_OR(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, false, true, values);
+        new WhereBuilder(this).whereIn(columnName, false, true, values);
         return this;
     }
 
@@ -360,7 +559,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT_IN_OR(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, true, true, values);
+        new WhereBuilder(this).whereIn(columnName, true, true, values);
         return this;
     }
 
@@ -375,7 +574,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_BETWEEN(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, false, false, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, false, false, start, stop);
         return this;
     }
 
@@ -390,7 +589,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT_BETWEEN(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, true, false, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, true, false, start, stop);
         return this;
     }
 
@@ -405,7 +604,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_BETWEEN_OR(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, false, true, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, false, true, start, stop);
         return this;
     }
 
@@ -420,7 +619,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT_BETWEEN_OR(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, true, true, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, true, true, start, stop);
         return this;
     }
 
@@ -432,7 +631,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_EXISTS(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, false, false);
+        new WhereBuilder(this).whereExists(builder, false, false);
         return this;
     }
 
@@ -444,7 +643,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_EXISTS_OR(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, false, true);
+        new WhereBuilder(this).whereExists(builder, false, true);
         return this;
     }
 
@@ -456,7 +655,7 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT_EXISTS(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, true, false);
+        new WhereBuilder(this).whereExists(builder, true, false);
         return this;
     }
 
@@ -468,20 +667,85 @@ public class QueryBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public QueryBuilder WHERE_NOT_EXISTS_OR(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, true, true);
+        new WhereBuilder(this).whereExists(builder, true, true);
+        return this;
+    }
+
+    /**
+     * Groups the rows that have the same values in the specified columns into one row,
+     * aggregates added with {@link #COUNT}, {@link #SUM}, {@link #AVG}, {@link #MIN} and {@link #MAX}
+     * are calculated for each group. If GROUP_BY has already been called the columns are added to the groups.
+     * @param columnNames the names of the columns to group by
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if FROM has not been called or HAVING or ORDER_BY has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder GROUP_BY(final String... columnNames) {
+        assertSQLIsNotEmpty();
+        if(columnNames == null || columnNames.length == 0) {
+            throw new IllegalArgumentException("Column Names Cannot Be Empty!");
+        }
+        if(!hasClause(Clause.FROM)) throw new IllegalStateException("No Statement Exists To Group Results");
+        if(hasClause(Clause.HAVING) || hasClause(Clause.ORDER_BY)) {
+            throw new IllegalStateException("GROUP BY Must Be Added Before HAVING And ORDER BY!");
+        }
+        if(addClause(Clause.GROUP_BY)) getSql().append("GROUP BY ");
+        else {
+            getSql().setLength(getSql().length() - 1);
+            getSql().append(", ");
+        }
+        for(var i = 0; i < columnNames.length; i++) {
+            if(columnNames[i] == null || columnNames[i].trim().isEmpty()) {
+                throw new IllegalArgumentException("Column Name Cannot Be Empty!");
+            }
+            if(i > 0) getSql().append(", ");
+            getSql().append(columnNames[i]);
+        }
+        getSql().append(' ');
+        return this;
+    }
+
+    /**
+     * Specifies a condition to constrain the groups of the SELECT statement
+     * and if this is not the first HAVING added it is separated by AND.
+     * Unlike WHERE the condition is checked after the rows are grouped so it can compare an aggregate,
+     * for example {@code HAVING("SUM(Amount)", ">", 100)}. Numbers are compared as numbers.
+     * @param expression the column or aggregate expression to check
+     * @param operator the comparison operator, one of {@code =, <>, <, <=, >, >=}
+     * @param value the value to compare against
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if GROUP_BY has not been called or ORDER_BY has already been called
+     * @since 1.6.0
+     */
+    public QueryBuilder HAVING(final String expression, final String operator, final Object value) {
+        assertSQLIsNotEmpty();
+        if(expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("Expression Cannot Be Empty!");
+        }
+        if(!COMPARISON_OPERATORS.contains(operator)) {
+            throw new IllegalArgumentException("Unsupported Comparison Operator: " + operator + '!');
+        }
+        if(!hasClause(Clause.GROUP_BY)) throw new IllegalStateException("HAVING Must Be Added After GROUP BY!");
+        if(hasClause(Clause.ORDER_BY)) throw new IllegalStateException("HAVING Must Be Added Before ORDER BY!");
+        getSql().append(addClause(Clause.HAVING) ? "HAVING " : "AND ")
+                .append(expression).append(' ').append(operator).append(' ');
+        appendNumericValue(value);
+        getSql().append(' ');
         return this;
     }
 
     /**
      * Sorts the result-set in ascending order by the specified column.
+     * If ORDER_BY has already been called the column is added as the next sort column.
      * @param columnName the name of the column to sort
      * @return the instance of the builder to continue building
      */
     public QueryBuilder ORDER_BY(final String columnName) {
         assertSQLIsNotEmpty();
         if(!columnName.trim().isEmpty()) {
-            if(getSql().toString().contains("FROM")) {
-                getSql().append("ORDER BY ").append(columnName).append(' ');
+            if(hasClause(Clause.FROM)) {
+                appendOrderByKeyword();
+                getSql().append(columnName).append(' ');
             } else throw new IllegalStateException("No Statement Exists To Order Results");
             return this;
         } throw new IllegalArgumentException("Field Name Cannot Be Empty!");
@@ -489,6 +753,7 @@ public class QueryBuilder extends SQLBuilder {
 
     /**
      * Sorts the result-set in ascending or descending order by the specified column.
+     * If ORDER_BY has already been called the column is added as the next sort column.
      * @param columnName the name of the column to sort
      * @param byDescending if true sorts descending otherwise sorts ascending
      * @return the instance of the builder to continue building
@@ -496,22 +761,137 @@ public class QueryBuilder extends SQLBuilder {
     public QueryBuilder ORDER_BY(final String columnName, final boolean byDescending) {
         assertSQLIsNotEmpty();
         if(!columnName.trim().isEmpty()) {
-            if(getSql().toString().contains("FROM")) {
-                if(byDescending) getSql().append("ORDER BY ").append(columnName).append(" DESC ");
-                else getSql().append("ORDER BY ").append(columnName).append(" ASC ");
+            if(hasClause(Clause.FROM)) {
+                appendOrderByKeyword();
+                getSql().append(columnName).append(byDescending ? " DESC " : " ASC ");
             } else throw new IllegalStateException("No Statement Exists To Order Results");
             return this;
         } throw new IllegalArgumentException("Field Name Cannot Be Empty!");
     }
 
+    /**
+     * Limits the result-set to the specified number of rows,
+     * the clause is rendered in the form supported by the database type when the statement is built.
+     * @param rowCount the maximum number of rows to return
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if a SELECT statement is not called first
+     * @since 1.6.0
+     */
+    public QueryBuilder LIMIT(final long rowCount) {
+        assertSQLIsNotEmpty();
+        if(rowCount < 0) throw new IllegalArgumentException("Row Count Cannot Be Negative!");
+        limit = rowCount;
+        return this;
+    }
+
+    /**
+     * Skips the specified number of rows before rows are returned, this should be used with ORDER_BY
+     * so the skipped rows are the same each time the statement is run.
+     * The database still reads all skipped rows, use {@link #pageAfter} for deep pages.
+     * @param rowCount the number of rows to skip
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if a SELECT statement is not called first
+     * @since 1.6.0
+     */
+    public QueryBuilder OFFSET(final long rowCount) {
+        assertSQLIsNotEmpty();
+        if(rowCount < 0) throw new IllegalArgumentException("Row Count Cannot Be Negative!");
+        offset = rowCount;
+        return this;
+    }
+
+    /**
+     * Returns the page of rows that come after the specified sort key using keyset pagination,
+     * the rows are sorted in ascending order by the specified column and limited to the page size.
+     * Unlike OFFSET the database only reads the rows of the page if the sort column is indexed.
+     * The sort column should be unique and any WHERE conditions must be added before this method
+     * and must not use OR.
+     * @param sortColumn the column to sort and seek by
+     * @param lastSeenValue the value of the sort column of the last row of the previous page,
+     *                      null to return the first page
+     * @param pageSize the maximum number of rows to return
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if a SELECT statement is not called first or if ORDER_BY has been called
+     * @since 1.6.0
+     */
+    public QueryBuilder pageAfter(final String sortColumn, final Object lastSeenValue, final long pageSize) {
+        return pageAfter(sortColumn, lastSeenValue, pageSize, false);
+    }
+
+    /**
+     * Returns the page of rows that come after the specified sort key using keyset pagination,
+     * the rows are sorted by the specified column and limited to the page size.
+     * Unlike OFFSET the database only reads the rows of the page if the sort column is indexed.
+     * The sort column should be unique and any WHERE conditions must be added before this method
+     * and must not use OR.
+     * @param sortColumn the column to sort and seek by
+     * @param lastSeenValue the value of the sort column of the last row of the previous page,
+     *                      null to return the first page
+     * @param pageSize the maximum number of rows to return
+     * @param byDescending if true sorts descending otherwise sorts ascending
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if a SELECT statement is not called first or if ORDER_BY has been called
+     * @since 1.6.0
+     */
+    public QueryBuilder pageAfter(final String sortColumn, final Object lastSeenValue,
+                                  final long pageSize, final boolean byDescending) {
+        assertSQLIsNotEmpty();
+        if(hasClause(Clause.ORDER_BY)) {
+            throw new IllegalStateException("ORDER BY Cannot Be Used With Keyset Pagination!");
+        }
+        if(pageSize < 1) throw new IllegalArgumentException("Page Size Must Be At Least 1!");
+        if(lastSeenValue != null) {
+            new WhereBuilder(this).whereCompare(sortColumn, byDescending ? "<" : ">", lastSeenValue);
+        }
+        ORDER_BY(sortColumn, byDescending);
+        return LIMIT(pageSize);
+    }
+
+    /**
+     * Queries are prepared on a reader connection when the read/write split of the database is enabled.
+     * @return false
+     */
+    @Override
+    protected boolean isWriteStatement() { return false; }
+
+    /**
+     * Returns the sql statement with the LIMIT and OFFSET clauses rendered for the specified database type.
+     * HyperSQL uses the standard {@code OFFSET ... ROWS FETCH FIRST ... ROWS ONLY} form
+     * and H2 and SQLite use {@code LIMIT ... OFFSET ...}, which is also used if the database type is null.
+     * H2 ignores a standard OFFSET without FETCH FIRST in a sub query, so H2 uses the LIMIT form.
+     * @param dbType the database type, null to render a form supported by all database types
+     * @return the sql statement as a string
+     */
+    @Override
+    protected String renderSql(final DatabaseType dbType) {
+        final var sql = super.renderSql(dbType);
+        if(limit < 0 && offset == 0) return sql;
+        if(dbType == DatabaseType.HyperSQLDB) {
+            final var clause = new StringBuilder(sql);
+            if(offset > 0) clause.append(" OFFSET ").append(offset).append(" ROWS");
+            if(limit >= 0) clause.append(" FETCH FIRST ").append(limit).append(" ROWS ONLY");
+            return clause.toString();
+        }
+        //H2 and SQLite require a LIMIT before an OFFSET, -1 is no limit
+        return sql + " LIMIT " + limit + (offset > 0 ? " OFFSET " + offset : "");
+    }
+
+    private void appendOrderByKeyword() {
+        if(addClause(Clause.ORDER_BY)) getSql().append("ORDER BY ");
+        else {
+            getSql().setLength(getSql().length() - 1);
+            getSql().append(", ");
+        }
+    }
+
     private void assertSQLIsEmpty() {
-        if(!getSql().toString().trim().isEmpty()) {
+        if(!isEmpty()) {
             throw new IllegalStateException("SELECT Can Only Be Added To Beginning Of Statement!");
         }
     }
 
     private void assertSQLIsNotEmpty() {
-        if(getSql().toString().trim().isEmpty()) {
+        if(isEmpty()) {
             throw new IllegalStateException("Statement Empty, Please Add Statement!");
         }
     }
@@ -529,29 +909,177 @@ public class QueryBuilder extends SQLBuilder {
     }
 
     /**
-     * Runs buildPreparedStatement, executes the statement and returns the result-set.
+     * Runs buildPreparedStatement, executes the statement and returns the result-set,
+     * the statement is closed when the result-set is closed.
      * @param db the database to request the {@code PreparedStatement} object from
      * @return the result of the statement as a {@code ResultSet}
      * @throws SQLException if a database access error occurs
      */
     public ResultSet buildAndExecute(final Database db) throws SQLException {
         setStatement(buildPreparedStatement(db));
-        return getStatement().executeQuery();
+        getStatement().closeOnCompletion();
+        try {
+            return getStatement().executeQuery();
+        } catch(final SQLException e) {
+            getStatement().close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs buildPreparedStatement with a forward only result-set, executes the statement and returns
+     * a lazily populated stream of the rows mapped by the specified mapper.
+     * Rows are read from the database as the stream is consumed using the driver's default fetch size.
+     * The statement is closed when the stream is closed or once the last row has been read,
+     * the stream should be used in a try-with-resources block.
+     * @param <T> the type of object each row is mapped to
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @param mapper the mapper that converts each row to an object
+     * @return a stream of the mapped rows
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public <T> Stream<T> stream(final Database db, final RowMapper<T> mapper) throws SQLException {
+        return stream(db, mapper, 0);
+    }
+
+    /**
+     * Runs buildPreparedStatement with a forward only result-set, executes the statement and returns
+     * a lazily populated stream of the rows mapped by the specified mapper.
+     * Rows are read from the database as the stream is consumed, the fetch size is passed to the driver
+     * as a hint of how many rows to read at once.
+     * The statement is closed when the stream is closed or once the last row has been read,
+     * the stream should be used in a try-with-resources block.
+     * Any {@code SQLException} that occurs while the stream is consumed is thrown
+     * as an {@link UncheckedSQLException}.
+     * @param <T> the type of object each row is mapped to
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @param mapper the mapper that converts each row to an object
+     * @param fetchSize the number of rows to fetch at once, 0 to use the driver default
+     * @return a stream of the mapped rows
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if the fetch size is negative
+     * @since 1.6.0
+     */
+    public <T> Stream<T> stream(final Database db, final RowMapper<T> mapper, final int fetchSize)
+            throws SQLException {
+        if(mapper == null) throw new IllegalArgumentException("Row Mapper Cannot Be Null!");
+        if(fetchSize < 0) throw new IllegalArgumentException("Fetch Size Cannot Be Negative!");
+        setStatement(buildPreparedStatement(db, ResultSet.TYPE_FORWARD_ONLY));
+        final var stmt = getStatement();
+        final ResultSet rs;
+        try {
+            stmt.setFetchSize(fetchSize);
+            rs = stmt.executeQuery();
+        } catch(final SQLException e) {
+            stmt.close();
+            throw e;
+        }
+        final var spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super T> action) {
+                try {
+                    if(stmt.isClosed()) return false;
+                    if(!rs.next()) {
+                        stmt.close();
+                        return false;
+                    }
+                    action.accept(mapper.mapRow(rs));
+                    return true;
+                } catch(final SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                stmt.close();
+            } catch(final SQLException e) {
+                throw new UncheckedSQLException(e);
+            }
+        });
+    }
+
+    /**
+     * Runs buildPreparedStatement with a forward only result-set, executes the statement and returns
+     * all rows mapped by the specified mapper, the statement is closed before this method returns.
+     * If {@link #useCache} has been called the list is served from the query cache of the database.
+     * @param <T> the type of object each row is mapped to
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @param mapper the mapper that converts each row to an object
+     * @return an unmodifiable list of the mapped rows
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public <T> List<T> list(final Database db, final RowMapper<T> mapper) throws SQLException {
+        if(useCache) return db.getQueryCache().get(this, mapper, () -> loadList(db, mapper));
+        return loadList(db, mapper);
+    }
+
+    private <T> List<T> loadList(final Database db, final RowMapper<T> mapper) throws SQLException {
+        final var rows = new ArrayList<T>();
+        try(final var stmt = buildPreparedStatement(db, ResultSet.TYPE_FORWARD_ONLY);
+            final var rs = stmt.executeQuery()) {
+            while(rs.next()) rows.add(mapper.mapRow(rs));
+        }
+        return Collections.unmodifiableList(rows);
     }
 
     /**
-     * Runs buildPreparedStatement, executes the statement and returns the number of rows in the result-set.
+     * Returns the number of rows in the result-set of this statement.
+     * The statement is wrapped in a {@code SELECT COUNT(*)} using {@link #SELECT_COUNT_ALL_FROM}
+     * so the rows are counted by the database instead of being sent to the client.
      * @param db the database to request the {@code PreparedStatement} object from
      * @return the result of the statement as the number of rows updated
      * @throws SQLException if a database access error occurs
      */
     public int buildExecuteAndGetNumRows(final Database db) throws SQLException {
-        setStatement(buildPreparedStatement(db));
-        try(final var rs = getStatement().executeQuery()) {
-            var totalRows = 0;
-            try { while(rs.next()) totalRows++; }
-            catch(final SQLException ex) { return 0; }
-            return totalRows;
+        return Math.toIntExact(count(db));
+    }
+
+    /**
+     * Returns the number of rows in the result-set of this statement.
+     * The statement is wrapped in a {@code SELECT COUNT(*)} using {@link #SELECT_COUNT_ALL_FROM}
+     * so the rows are counted by the database instead of being sent to the client.
+     * If {@link #useCache} has been called the count is served from the query cache of the database.
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @return the number of rows in the result-set
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public long count(final Database db) throws SQLException {
+        if(useCache) return db.getQueryCache().get(this, COUNT_RESULT, () -> loadCount(db));
+        return loadCount(db);
+    }
+
+    private long loadCount(final Database db) throws SQLException {
+        final var countQuery = new QueryBuilder().SELECT_COUNT_ALL_FROM(this);
+        try(final var stmt = countQuery.buildPreparedStatement(db); final var rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Checks if the result-set of this statement contains at least one row.
+     * The statement is run with {@code LIMIT 1} so the database stops after the first matching row.
+     * If {@link #useCache} has been called the result is served from the query cache of the database.
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @return true if at least one row exists
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public boolean existsAny(final Database db) throws SQLException {
+        if(useCache) return db.getQueryCache().get(this, EXISTS_RESULT, () -> loadExistsAny(db));
+        return loadExistsAny(db);
+    }
+
+    private boolean loadExistsAny(final Database db) throws SQLException {
+        final var existsQuery = new QueryBuilder();
+        existsQuery.appendSubQuery(this);
+        if(limit < 0 && offset == 0) existsQuery.limit = 1;
+        try(final var stmt = existsQuery.buildPreparedStatement(db)) {
+            stmt.setMaxRows(1);
+            try(final var rs = stmt.executeQuery()) { return rs.next(); }
         }
     }
 }
@@ -2,36 +2,136 @@ package com.jgcomptech.tools.databasetools.jdbc.builders;
 
 import com.jgcomptech.tools.databasetools.jdbc.Database;
 import com.jgcomptech.tools.databasetools.jdbc.DatabaseType;
+import com.jgcomptech.tools.databasetools.jdbc.QueryPlan;
 import com.jgcomptech.tools.databasetools.jdbc.TypedStatement;
 import org.jetbrains.annotations.Contract;
 
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * An abstract builder class for creating sql statements.
  * @since 1.4.0
  */
 public abstract class SQLBuilder {
+    /**
+     * The clauses that are tracked while the statement is built so the builders
+     * can check the state of the statement without scanning the sql text.
+     * @since 1.6.0
+     */
+    protected enum Clause {
+        FROM,
+        SET,
+        JOIN,
+        WHERE,
+        GROUP_BY,
+        HAVING,
+        ORDER_BY
+    }
+
     private final StringBuilder sql = new StringBuilder();
+    private final List<Object> parameters = new ArrayList<>();
+    private final Set<Clause> clauses = EnumSet.noneOf(Clause.class);
+    private final Set<String> tables = new LinkedHashSet<>();
+    private final List<SubQuery> subQueries = new ArrayList<>();
+    private Database database;
+    private int whereStart = -1;
+    private boolean whereOrAdded;
     private PreparedStatement statement;
+    private boolean bindParameters;
+    private int queryTimeout = -1;
 
     /**
      * Creates a {@code PreparedStatement} object that will generate
      * {@code ResultSet} objects for sending SQL statements to the database.
+     * Any bind parameters are set on the statement before it is returned.
      * @param db the database to request the {@code PreparedStatement} object from
      * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
      * @throws SQLException if a database access error occurs
      */
     public final PreparedStatement buildPreparedStatement(final Database db) throws SQLException {
-        if(sql.toString().trim().isEmpty()) { throw new IllegalArgumentException("SQL String Not Set!"); }
-        final var resultSetType = db.getInfo().getDbType()
-                == DatabaseType.SQLite
-                ? ResultSet.TYPE_FORWARD_ONLY
-                : ResultSet.TYPE_SCROLL_INSENSITIVE;
-        final var sqlText = sql.toString().trim() + ';';
-        return db.getConnection().getObject().prepareStatement(sqlText, resultSetType, ResultSet.CONCUR_READ_ONLY);
+        if(isEmpty()) { throw new IllegalArgumentException("SQL String Not Set!"); }
+        database = db;
+        final var sql = renderSql(db.getInfo().getDbType()) + ';';
+        if(isReturnGeneratedKeys()) return bind(db.getConnection().prepareStatementReturningKeys(sql));
+        return bind(isWriteStatement()
+                ? db.getConnection().prepareWriteStatement(sql)
+                : db.getConnection().prepareStatement(sql));
+    }
+
+    /**
+     * Creates a {@code PreparedStatement} object with the specified result-set type that will generate
+     * {@code ResultSet} objects for sending SQL statements to the database.
+     * Any bind parameters are set on the statement before it is returned.
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @param resultSetType a result-set type, such as {@code ResultSet.TYPE_FORWARD_ONLY}
+     * @return a new {@code PreparedStatement} object containing the pre-compiled SQL statement
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public final PreparedStatement buildPreparedStatement(final Database db, final int resultSetType)
+            throws SQLException {
+        if(isEmpty()) { throw new IllegalArgumentException("SQL String Not Set!"); }
+        database = db;
+        final var sql = renderSql(db.getInfo().getDbType()) + ';';
+        return bind(isWriteStatement()
+                ? db.getConnection().prepareWriteStatement(sql, resultSetType)
+                : db.getConnection().prepareStatement(sql, resultSetType));
+    }
+
+    /**
+     * Captures the execution plan the database chooses for this statement without executing it,
+     * the plan shows which indexes are used and which tables are read in full.
+     * This is meant for the query, update and delete builders.
+     * @param db the database to explain the statement on
+     * @return the execution plan
+     * @throws SQLException if a database access error occurs or the database cannot explain the statement
+     * @since 1.6.0
+     */
+    public QueryPlan explain(final Database db) throws SQLException {
+        if(isEmpty()) { throw new IllegalArgumentException("SQL String Not Set!"); }
+        return QueryPlan.explain(db, renderSql(db.getInfo().getDbType()), parameters);
+    }
+
+    private PreparedStatement bind(final PreparedStatement prepared) throws SQLException {
+        var stmt = prepared;
+        try {
+            if(queryTimeout >= 0) stmt = database.getConnection().withQueryTimeout(stmt, queryTimeout);
+            bindParameters(stmt, parameters);
+        } catch(final SQLException e) {
+            stmt.close();
+            throw e;
+        }
+        return stmt;
+    }
+
+    /**
+     * Sets the specified values on the placeholders of the statement in order,
+     * strings are set with {@code setString}, null values with {@code setNull}
+     * and all other values with {@code setObject}.
+     * @param stmt the statement to set the values on
+     * @param values the values to set
+     * @throws SQLException if a database access error occurs
+     * @since 1.6.0
+     */
+    public static void bindParameters(final PreparedStatement stmt, final List<?> values) throws SQLException {
+        for(var i = 0; i < values.size(); i++) {
+            final var value = values.get(i);
+            if(value == null) stmt.setNull(i + 1, Types.NULL);
+            else if(value instanceof String) stmt.setString(i + 1, (String) value);
+            else stmt.setObject(i + 1, value);
+        }
     }
 
     /**
@@ -50,6 +150,136 @@ public abstract class SQLBuilder {
     @Contract(pure = true)
     public final PreparedStatement getStatement() { return statement; }
 
+    /**
+     * Checks if values are added to the statement as {@code ?} placeholders
+     * instead of inline literals.
+     * @return true if bind parameters are used
+     * @since 1.6.0
+     */
+    public final boolean isUsingBindParameters() { return bindParameters; }
+
+    /**
+     * Returns the values that are bound to the placeholders of the statement
+     * in the order they appear in the sql statement.
+     * @return an unmodifiable list of the bind parameters
+     * @since 1.6.0
+     */
+    public final List<Object> getParameters() { return Collections.unmodifiableList(parameters); }
+
+    /**
+     * Returns the names of the tables the statement reads from or writes to, including the tables
+     * of any sub queries, in upper case.
+     * @return an unmodifiable set of the table names
+     * @since 1.6.0
+     */
+    public final Set<String> getTables() { return Collections.unmodifiableSet(tables); }
+
+    /**
+     * Returns the database the statement was last built against.
+     * @return the database, null if buildPreparedStatement has not been run
+     * @since 1.6.0
+     */
+    public Database getDatabase() { return database; }
+
+    /**
+     * Adds a table to the tables of the statement, a list of tables separated by commas
+     * and table aliases are supported.
+     * @param tableName the name of the table
+     * @return this builder
+     * @since 1.6.0
+     */
+    protected SQLBuilder addTable(final String tableName) {
+        for(final var table : tableName.split(",")) {
+            final var name = table.trim().split("\\s+")[0];
+            if(!name.isEmpty() && !name.startsWith("(")) tables.add(name.toUpperCase(Locale.ENGLISH));
+        }
+        return this;
+    }
+
+    /**
+     * Removes the cached query results of the tables of this statement from the query cache
+     * of the database the statement was built against, this is called after a write statement is executed.
+     * @since 1.6.0
+     */
+    protected void invalidateQueryCache() {
+        if(database != null) database.getQueryCache().invalidate(tables);
+    }
+
+    /**
+     * Checks if the statement writes to the database, write statements are prepared on the writer connection
+     * when the read/write split of the database is enabled.
+     * @return true for all builders except the query builder
+     * @since 1.6.0
+     */
+    protected boolean isWriteStatement() { return true; }
+
+    /**
+     * Checks if the statement makes the keys generated by the database available after it is executed.
+     * @return false unless overridden by the insert builder
+     * @since 1.6.0
+     */
+    protected boolean isReturnGeneratedKeys() { return false; }
+
+    /**
+     * Sets the number of seconds the statement may run, the timeout is set on the statement when it is built.
+     * @param seconds the timeout in seconds, 0 to let the statement run indefinitely
+     * @return this builder
+     * @since 1.6.0
+     */
+    protected SQLBuilder setQueryTimeout(final int seconds) {
+        queryTimeout = seconds;
+        return this;
+    }
+
+    protected SQLBuilder setUseBindParameters(final boolean bindParameters) {
+        this.bindParameters = bindParameters;
+        return this;
+    }
+
+    /**
+     * Appends a value to the statement, as a {@code ?} placeholder if bind parameters are used
+     * otherwise as a quoted literal.
+     * @param value the value to append
+     * @return this builder
+     */
+    protected SQLBuilder appendValue(final Object value) {
+        if(bindParameters) {
+            sql.append('?');
+            parameters.add(value);
+        } else if(value == null) sql.append("NULL");
+        else sql.append('\'').append(String.valueOf(value).replace("'", "''")).append('\'');
+        return this;
+    }
+
+    /**
+     * Appends a value that is compared with a numeric expression such as an aggregate,
+     * numbers are appended unquoted when inline literals are used because SQLite compares
+     * a quoted number with a number as text.
+     * @param value the value to append
+     * @return this builder
+     * @since 1.6.0
+     */
+    protected SQLBuilder appendNumericValue(final Object value) {
+        if(!bindParameters && value instanceof Number) {
+            sql.append(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+            return this;
+        }
+        return appendValue(value);
+    }
+
+    /**
+     * Appends the sql of another builder as a sub query including its bind parameters,
+     * the sub query is rendered in the form of the database type that this statement is rendered for.
+     * @param builder the builder to append
+     * @return this builder
+     */
+    protected SQLBuilder appendSubQuery(final SQLBuilder builder) {
+        subQueries.add(new SubQuery(sql.length(), builder));
+        parameters.addAll(builder.parameters);
+        tables.addAll(builder.tables);
+        return this;
+    }
+
     protected SQLBuilder setStatement(final PreparedStatement statement) {
         this.statement = statement;
         return this;
@@ -59,10 +289,117 @@ public abstract class SQLBuilder {
         return sql;
     }
 
+    /**
+     * Checks if nothing has been added to the statement.
+     * @return true if the statement is empty
+     * @since 1.6.0
+     */
+    protected final boolean isEmpty() { return sql.length() == 0 && subQueries.isEmpty(); }
+
+    /**
+     * Checks if the specified clause has been added to the statement.
+     * @param clause the clause to check
+     * @return true if the clause has been added
+     * @since 1.6.0
+     */
+    protected final boolean hasClause(final Clause clause) { return clauses.contains(clause); }
+
+    /**
+     * Marks the specified clause as added to the statement.
+     * @param clause the clause to mark
+     * @return true if the clause was not added before
+     * @since 1.6.0
+     */
+    protected final boolean addClause(final Clause clause) { return clauses.add(clause); }
+
+    /**
+     * Appends the WHERE keyword for the first condition or the AND or OR keyword for all others.
+     * @param useOr if true the condition is separated by OR otherwise by AND
+     */
+    void appendWhereKeyword(final boolean useOr) {
+        assertWhereAllowed();
+        if(addClause(Clause.WHERE)) {
+            sql.append("WHERE ");
+            whereStart = sql.length();
+        } else if(useOr) {
+            sql.append("OR ");
+            whereOrAdded = true;
+        } else sql.append("AND ");
+    }
+
+    /**
+     * Appends the AND keyword for a condition that must apply to all rows that match the existing conditions,
+     * if the existing conditions are separated by OR they are wrapped in parentheses first.
+     */
+    void appendWhereAndAll() {
+        assertWhereAllowed();
+        if(addClause(Clause.WHERE)) {
+            sql.append("WHERE ");
+            whereStart = sql.length();
+        } else {
+            if(whereOrAdded) {
+                sql.insert(whereStart, '(');
+                for(final var subQuery : subQueries) if(subQuery.position >= whereStart) subQuery.position++;
+                sql.setLength(sql.length() - 1);
+                sql.append(") ");
+                whereOrAdded = false;
+            }
+            sql.append("AND ");
+        }
+    }
+
+    private void assertWhereAllowed() {
+        if(hasClause(Clause.GROUP_BY) || hasClause(Clause.HAVING)) {
+            throw new IllegalStateException("WHERE Must Be Added Before GROUP BY!");
+        }
+    }
+
+    /**
+     * Returns the sql statement without the ending semicolon in the form that is sent to the specified
+     * database type, builders that render clauses differently per database type override this method.
+     * @param dbType the database type, null to render a form supported by all database types
+     * @return the sql statement as a string
+     * @since 1.6.0
+     */
+    protected String renderSql(final DatabaseType dbType) {
+        var text = sql;
+        if(!subQueries.isEmpty()) {
+            text = new StringBuilder(sql.length() + subQueries.size() * 64);
+            var start = 0;
+            for(final var subQuery : subQueries) {
+                final var position = Math.min(subQuery.position, sql.length());
+                text.append(sql, start, position).append(subQuery.render(dbType));
+                start = position;
+            }
+            text.append(sql, start, sql.length());
+        }
+        var end = text.length();
+        while(end > 0 && text.charAt(end - 1) == ' ') end--;
+        return text.substring(0, end);
+    }
+
     /**
      * Returns the sql statement as a string.
      * @return the sql statement as a string
      */
     @Override
-    public String toString() { return sql.toString().trim() + ';'; }
+    public String toString() { return renderSql(null) + ';'; }
+
+    /**
+     * A sub query and its position in the sql of the outer statement. The sub query is rendered
+     * for every database type when it is added, so later changes to its builder do not change this statement.
+     */
+    private static final class SubQuery {
+        private final String sql;
+        private final Map<DatabaseType, String> sqlByType = new EnumMap<>(DatabaseType.class);
+        private int position;
+
+        private SubQuery(final int position, final SQLBuilder builder) {
+            this.position = position;
+            sql = builder.renderSql(null);
+            for(final var type : DatabaseType.values()) sqlByType.put(type, builder.renderSql(type));
+        }
+
+        private String render(final DatabaseType dbType) { return dbType == null ? sql : sqlByType.get(dbType); }
+    }
 }
@@ -66,13 +66,13 @@ public class TableBuilder extends SQLBuilder {
     }
 
     private void assertSQLIsEmpty() {
-        if(!getSql().toString().trim().isEmpty()) {
+        if(!isEmpty()) {
             throw new IllegalStateException("CREATE Can Only Be Added To Beginning Of Statement!");
         }
     }
 
     private void assertSQLIsNotEmpty() {
-        if(getSql().toString().trim().isEmpty()) {
+        if(isEmpty()) {
             throw new IllegalStateException("Statement Empty, Please Add Statement!");
         }
     }
@@ -111,7 +111,20 @@ public class TableBuilder extends SQLBuilder {
         getSql().append(')');
         if(!db.getInfo().tableExists(tableName)) {
             setStatement(buildPreparedStatement(db));
-            return getStatement().execute();
+            try(final var stmt = getStatement()) {
+                return stmt.execute();
+            } finally {
+                db.getInfo().refresh();
+            }
         } else return false;
     }
+
+    /**
+     * Returns the database the table is created in, the schema cache of the database is refreshed
+     * once the statement is executed.
+     * @return the database object, null if CREATE has not been called
+     * @since 1.6.0
+     */
+    @Override
+    public Database getDatabase() { return db; }
 }
@@ -10,6 +10,17 @@ import java.sql.SQLException;
  * @since 1.4.0
  */
 public class UpdateBuilder extends SQLBuilder {
+    /**
+     * Adds all values added after this call as {@code ?} placeholders instead of inline literals,
+     * the values are bound when the statement is built so the same sql text is reused for different values.
+     * @return the instance of the builder to continue building
+     * @since 1.6.0
+     */
+    public UpdateBuilder useBindParameters() {
+        setUseBindParameters(true);
+        return this;
+    }
+
     /**
      * Generates sql code to update a row in a table.
      * @param tableName the name of the table
@@ -22,6 +33,7 @@ public class UpdateBuilder extends SQLBuilder {
             throw new IllegalArgumentException("Table Name Cannot Be Empty!");
         } else {
             getSql().append("UPDATE ").append(tableName).append(' ');
+            addTable(tableName);
             return this;
         }
     }
@@ -37,14 +49,35 @@ public class UpdateBuilder extends SQLBuilder {
         assertSQLIsNotEmpty();
         if(columnName == null || columnName.trim().isEmpty() || value == null || value.trim().isEmpty()) {
             throw new IllegalArgumentException("Field Name And Value Cannot Be Empty!");
+        } else return set(columnName, value);
+    }
+
+    /**
+     * Sets the values to replace in the table, if bind parameters are used
+     * the value keeps its type when bound to the statement.
+     * @param columnName the name of the column
+     * @param value the value to set, may be null to set the column to NULL
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if the UPDATE statement is not called first
+     * @since 1.6.0
+     */
+    public UpdateBuilder SET(final String columnName, final Object value) {
+        assertSQLIsNotEmpty();
+        if(columnName == null || columnName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Field Name Cannot Be Empty!");
+        } else return set(columnName, value);
+    }
+
+    private UpdateBuilder set(final String columnName, final Object value) {
+        if(addClause(Clause.SET)) {
+            getSql().append("SET ").append(columnName).append(" = ");
         } else {
-            if(!getSql().toString().contains("SET ")) {
-                getSql().append("SET ").append(columnName).append(" = '").append(value).append("' ");
-            } else {
-                getSql().append(", ").append(columnName).append(" = '").append(value).append("' ");
-            }
-            return this;
+            getSql().setLength(getSql().length() - 1);
+            getSql().append(", ").append(columnName).append(" = ");
         }
+        appendValue(value);
+        getSql().append(' ');
+        return this;
     }
 
     /**
@@ -55,7 +88,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, false, false, value);
+        new WhereBuilder(this).where(columnName, false, false, value);
         return this;
     }
 
@@ -67,7 +100,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_OR(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, false, true, value);
+        new WhereBuilder(this).where(columnName, false, true, value);
         return this;
     }
 
@@ -79,7 +112,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, true, false, value);
+        new WhereBuilder(this).where(columnName, true, false, value);
         return this;
     }
 
@@ -91,7 +124,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT_OR(final String columnName, final String value) {
-        new WhereBuilder(getSql()).where(columnName, true, true, value);
+        new WhereBuilder(this).where(columnName, true, true, value);
         return this;
     }
 
@@ -102,7 +135,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_IS_NULL(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, false, false);
+        new WhereBuilder(this).whereIsNull(columnName, false, false);
         return this;
     }
 
@@ -113,7 +146,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_IS_NOT_NULL(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, true, false);
+        new WhereBuilder(this).whereIsNull(columnName, true, false);
         return this;
     }
 
@@ -124,7 +157,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_IS_NULL_OR(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, false, true);
+        new WhereBuilder(this).whereIsNull(columnName, false, true);
         return this;
     }
 
@@ -135,7 +168,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_IS_NOT_NULL_OR(final String columnName) {
-        new WhereBuilder(getSql()).whereIsNull(columnName, true, true);
+        new WhereBuilder(this).whereIsNull(columnName, true, true);
         return this;
     }
 
@@ -148,7 +181,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_IN(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, false, false, values);
+        new WhereBuilder(this).whereIn(columnName, false, false, values);
         return this;
     }
 
@@ -161,7 +194,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT_IN(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, true, false, values);
+        new WhereBuilder(this).whereIn(columnName, true, false, values);
         return this;
     }
 
@@ -174,7 +207,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_IN_OR(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, false, true, values);
+        new WhereBuilder(this).whereIn(columnName, false, true, values);
         return this;
     }
 
@@ -187,7 +220,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT_IN_OR(final String columnName, final String... values) {
-        new WhereBuilder(getSql()).whereIn(columnName, true, true, values);
+        new WhereBuilder(this).whereIn(columnName, true, true, values);
         return this;
     }
 
@@ -202,7 +235,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_BETWEEN(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, false, false, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, false, false, start, stop);
         return this;
     }
 
@@ -217,7 +250,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT_BETWEEN(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, true, false, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, true, false, start, stop);
         return this;
     }
 
@@ -232,7 +265,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_BETWEEN_OR(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, false, true, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, false, true, start, stop);
         return this;
     }
 
@@ -247,7 +280,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT_BETWEEN_OR(final String columnName, final String start, final String stop) {
-        new WhereBuilder(getSql()).whereBetween(columnName, true, true, start, stop);
+        new WhereBuilder(this).whereBetween(columnName, true, true, start, stop);
         return this;
     }
 
@@ -259,7 +292,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_EXISTS(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, false, false);
+        new WhereBuilder(this).whereExists(builder, false, false);
         return this;
     }
 
@@ -271,7 +304,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_EXISTS_OR(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, false, true);
+        new WhereBuilder(this).whereExists(builder, false, true);
         return this;
     }
 
@@ -283,7 +316,7 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT_EXISTS(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, true, false);
+        new WhereBuilder(this).whereExists(builder, true, false);
         return this;
     }
 
@@ -295,18 +328,18 @@ public class UpdateBuilder extends SQLBuilder {
      * @return the instance of the builder to continue building
      */
     public UpdateBuilder WHERE_NOT_EXISTS_OR(final QueryBuilder builder) {
-        new WhereBuilder(getSql()).whereExists(builder, true, true);
+        new WhereBuilder(this).whereExists(builder, true, true);
         return this;
     }
 
     private void assertSQLIsEmpty() {
-        if(!getSql().toString().trim().isEmpty()) {
+        if(!isEmpty()) {
             throw new IllegalStateException("UPDATE Can Only Be Added To Beginning Of Statement!");
         }
     }
 
     private void assertSQLIsNotEmpty() {
-        if(getSql().toString().trim().isEmpty()) {
+        if(isEmpty()) {
             throw new IllegalStateException("Statement Empty, Please Add Statement!");
         }
     }
@@ -331,8 +364,11 @@ public class UpdateBuilder extends SQLBuilder {
      */
     public int buildAndUpdate(final Database db) throws SQLException {
         setStatement(buildPreparedStatement(db));
-        getStatement().closeOnCompletion();
-        return getStatement().executeUpdate();
+        try(final var stmt = getStatement()) {
+            return stmt.executeUpdate();
+        } finally {
+            invalidateQueryCache();
+        }
     }
 
     /**
@@ -344,7 +380,10 @@ public class UpdateBuilder extends SQLBuilder {
      */
     public long buildAndLargeUpdate(final Database db) throws SQLException {
         setStatement(buildPreparedStatement(db));
-        getStatement().closeOnCompletion();
-        return getStatement().executeLargeUpdate();
+        try(final var stmt = getStatement()) {
+            return stmt.executeLargeUpdate();
+        } finally {
+            invalidateQueryCache();
+        }
     }
 }
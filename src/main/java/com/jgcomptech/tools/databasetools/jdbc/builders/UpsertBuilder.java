@@ -0,0 +1,191 @@
+package com.jgcomptech.tools.databasetools.jdbc.builders;
+
+import com.jgcomptech.tools.databasetools.jdbc.Database;
+import com.jgcomptech.tools.databasetools.jdbc.DatabaseType;
+import com.jgcomptech.tools.databasetools.jdbc.TypedStatement;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A builder class for creating a sql statement that inserts a row into a table
+ * or updates the existing row with the same key in a single statement.
+ * H2 uses {@code MERGE INTO ... KEY}, HyperSQL uses {@code MERGE INTO ... USING}
+ * and SQLite uses {@code INSERT ... ON CONFLICT}, SQLite requires a unique index on the key columns.
+ * @since 1.6.0
+ */
+public class UpsertBuilder extends SQLBuilder {
+    private DatabaseType dbType;
+    private String tableName;
+    private List<String> columnNames;
+    private List<String> keyColumns;
+    private boolean valuesAdded;
+
+    /**
+     * Adds all values added after this call as {@code ?} placeholders instead of inline literals,
+     * the values are bound when the statement is built so the same sql text is reused for different values.
+     * @return the instance of the builder to continue building
+     */
+    public UpsertBuilder useBindParameters() {
+        setUseBindParameters(true);
+        return this;
+    }
+
+    /**
+     * Specifies the table and the columns to insert or update.
+     * @param tableName the name of the table
+     * @param db the database object for database type checking
+     * @param columnNames the name of the columns
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if this is not the first method called
+     */
+    public UpsertBuilder UPSERT_INTO(final String tableName, final Database db, final String... columnNames) {
+        if(this.tableName != null) {
+            throw new IllegalStateException("UPSERT_INTO Can Only Be Added To Beginning Of Statement!");
+        } else if(tableName == null || tableName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Table Name Cannot Be Empty!");
+        } else if(db == null) {
+            throw new IllegalArgumentException("Database Cannot Be Null!");
+        } else if(columnNames == null || columnNames.length == 0) {
+            throw new IllegalArgumentException("Column Names Cannot Be Empty!");
+        } else {
+            this.tableName = tableName;
+            this.columnNames = List.of(columnNames);
+            addTable(tableName);
+            dbType = db.getInfo().getDbType();
+            return this;
+        }
+    }
+
+    /**
+     * Specifies the columns that identify an existing row, the key columns must also be listed in UPSERT_INTO.
+     * @param keyColumns the names of the key columns
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if the UPSERT_INTO statement is not called first
+     */
+    public UpsertBuilder KEY(final String... keyColumns) {
+        assertUpsertAdded();
+        if(keyColumns == null || keyColumns.length == 0) {
+            throw new IllegalArgumentException("Key Columns Cannot Be Empty!");
+        } else if(!columnNames.containsAll(Arrays.asList(keyColumns))) {
+            throw new IllegalArgumentException("Key Columns Must Be Listed In UPSERT_INTO!");
+        } else {
+            this.keyColumns = List.of(keyColumns);
+            return this;
+        }
+    }
+
+    /**
+     * Finishes the statement specifying the values to insert or update.
+     * The order of the VALUES statements must match the column order in the UPSERT_INTO statement.
+     * @param values the values of the row
+     * @return the instance of the builder to continue building
+     * @throws IllegalStateException if the UPSERT_INTO and KEY statements are not called first
+     */
+    public UpsertBuilder VALUES(final Object... values) {
+        assertUpsertAdded();
+        if(keyColumns == null) throw new IllegalStateException("KEY Must Be Added Before VALUES!");
+        if(valuesAdded) throw new IllegalStateException("VALUES Can Only Be Added Once!");
+        if(values == null || values.length != columnNames.size()) {
+            throw new IllegalArgumentException("Value Count Must Match Column Count!");
+        }
+        switch(dbType) {
+            case H2:
+                getSql().append("MERGE INTO ").append(tableName).append(" (").append(String.join(", ", columnNames))
+                        .append(") KEY (").append(String.join(", ", keyColumns)).append(") ");
+                appendValues(values);
+                break;
+            case HyperSQLDB:
+                getSql().append("MERGE INTO ").append(tableName).append(" USING (");
+                appendValues(values);
+                getSql().append(") AS src (").append(String.join(", ", columnNames)).append(") ON ");
+                appendColumns(keyColumns, " AND ", tableName + '.', " = src.");
+                if(keyColumns.size() < columnNames.size()) {
+                    getSql().append(" WHEN MATCHED THEN UPDATE SET ");
+                    appendColumns(getUpdateColumns(), ", ", tableName + '.', " = src.");
+                }
+                getSql().append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", columnNames))
+                        .append(") VALUES (");
+                appendColumns(columnNames, ", ", "src.", null);
+                getSql().append(')');
+                break;
+            case SQLite:
+                getSql().append("INSERT INTO ").append(tableName).append(" (")
+                        .append(String.join(", ", columnNames)).append(") ");
+                appendValues(values);
+                getSql().append(" ON CONFLICT (").append(String.join(", ", keyColumns)).append(") DO ");
+                if(keyColumns.size() < columnNames.size()) {
+                    getSql().append("UPDATE SET ");
+                    appendColumns(getUpdateColumns(), ", ", "", " = excluded.");
+                } else getSql().append("NOTHING");
+                break;
+        }
+        valuesAdded = true;
+        return this;
+    }
+
+    private void appendValues(final Object... values) {
+        getSql().append("VALUES (");
+        for(var i = 0; i < values.length; i++) {
+            if(i > 0) getSql().append(", ");
+            appendValue(values[i]);
+        }
+        getSql().append(')');
+    }
+
+    private void appendColumns(final List<String> columns, final String separator,
+                               final String prefix, final String assignment) {
+        var firstAdded = false;
+        for(final var column : columns) {
+            if(firstAdded) getSql().append(separator);
+            getSql().append(prefix).append(column);
+            if(assignment != null) getSql().append(assignment).append(column);
+            firstAdded = true;
+        }
+    }
+
+    private List<String> getUpdateColumns() {
+        return columnNames.stream().filter(column -> !keyColumns.contains(column)).collect(Collectors.toList());
+    }
+
+    private void assertUpsertAdded() {
+        if(tableName == null) throw new IllegalStateException("Statement Empty, Please Add Statement!");
+    }
+
+    private void assertValuesAdded() {
+        if(!valuesAdded) throw new IllegalStateException("No VALUES Added, Please Add Values!");
+    }
+
+    /**
+     * Runs buildPreparedStatement and passes this object to a new instance of {@link TypedStatement}.
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @return a new instance of {@link TypedStatement}
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if the VALUES statement is not called first
+     */
+    @Override
+    public TypedStatement build(final Database db) throws SQLException {
+        assertValuesAdded();
+        setStatement(buildPreparedStatement(db));
+        return new TypedStatement(this);
+    }
+
+    /**
+     * Runs buildPreparedStatement, executes the statement and returns the number of rows inserted or updated.
+     * @param db the database to request the {@code PreparedStatement} object from
+     * @return the result of the statement as the number of rows inserted or updated
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalStateException if the VALUES statement is not called first
+     */
+    public int buildAndUpsert(final Database db) throws SQLException {
+        assertValuesAdded();
+        setStatement(buildPreparedStatement(db));
+        try(final var stmt = getStatement()) {
+            return stmt.executeUpdate();
+        } finally {
+            invalidateQueryCache();
+        }
+    }
+}
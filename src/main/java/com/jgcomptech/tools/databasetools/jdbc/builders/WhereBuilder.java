@@ -5,9 +5,13 @@ package com.jgcomptech.tools.databasetools.jdbc.builders;
  * @since 1.4.0
  */
 public class WhereBuilder {
+    private final SQLBuilder builder;
     private final StringBuilder sql;
 
-    WhereBuilder(final StringBuilder sql) { this.sql = sql; }
+    WhereBuilder(final SQLBuilder builder) {
+        this.builder = builder;
+        sql = builder.getSql();
+    }
 
     void where(final String columnName, final boolean useNot,
                                      final boolean useOr, final String value) {
@@ -15,17 +19,29 @@ public class WhereBuilder {
         if(!columnName.trim().isEmpty()) {
             if(!value.trim().isEmpty()) {
                 final var compare = useNot ? "NOT " : "";
-                sql.append(sql.toString().contains("WHERE") ? (useOr ? "OR " : "AND ") : "WHERE ");
-                sql.append(compare).append(columnName).append(" = '").append(value).append("' ");
+                builder.appendWhereKeyword(useOr);
+                sql.append(compare).append(columnName).append(" = ");
+                builder.appendValue(value);
+                sql.append(' ');
             } else throw new IllegalArgumentException("Value Cannot Be Empty!");
         } else throw new IllegalArgumentException("Field Name Cannot Be Empty!");
     }
 
+    void whereCompare(final String columnName, final String operator, final Object value) {
+        assertSQLIsNotEmpty();
+        if(!columnName.trim().isEmpty()) {
+            builder.appendWhereAndAll();
+            sql.append(columnName).append(' ').append(operator).append(' ');
+            builder.appendValue(value);
+            sql.append(' ');
+        } else throw new IllegalArgumentException("Field Name Cannot Be Empty!");
+    }
+
     void whereIsNull(final String columnName, final boolean useNot, final boolean useOr) {
         assertSQLIsNotEmpty();
         if(!columnName.trim().isEmpty()) {
             final var compare = useNot ? " IS NOT NULL " : " IS NULL ";
-            sql.append(sql.toString().contains("WHERE") ? (useOr ? "OR " : "AND ") : "WHERE ");
+            builder.appendWhereKeyword(useOr);
             sql.append(columnName).append(compare);
         } else throw new IllegalArgumentException("Field Name Cannot Be Empty!");
     }
@@ -38,13 +54,12 @@ public class WhereBuilder {
                 throw new IllegalArgumentException("Values Cannot Be Empty!");
             } else {
                 final var compare = useNot ? " NOT IN (" : " IN (";
-                sql.append(sql.toString().contains("WHERE") ? (useOr ? "OR " : "AND ") : "WHERE ");
+                builder.appendWhereKeyword(useOr);
                 sql.append(columnName).append(compare);
                 var firstAdded = false;
                 for (final var value : values) {
-                    if(firstAdded) {
-                        sql.append(", '").append(value).append('\'');
-                    } else sql.append('\'').append(value).append('\'');
+                    if(firstAdded) sql.append(", ");
+                    builder.appendValue(value);
                     firstAdded = true;
                 }
                 sql.append(") ");
@@ -61,27 +76,32 @@ public class WhereBuilder {
             } else {
                 final var compare = useNot ? " NOT BETWEEN " : " BETWEEN ";
 
-                sql.append(sql.toString().contains("WHERE") ? useOr ? "OR " : "AND " : "WHERE ");
-                sql.append(columnName).append(compare)
-                        .append('\'').append(start).append("' AND '").append(stop).append("' ");
+                builder.appendWhereKeyword(useOr);
+                sql.append(columnName).append(compare);
+                builder.appendValue(start);
+                sql.append(" AND ");
+                builder.appendValue(stop);
+                sql.append(' ');
             }
         } else throw new IllegalArgumentException("Field Name Cannot Be Empty!");
     }
 
-    void whereExists(final QueryBuilder builder, final boolean useNot, final boolean useOr) {
+    void whereExists(final QueryBuilder subQuery, final boolean useNot, final boolean useOr) {
         assertSQLIsNotEmpty();
-        if(builder == null || builder.toString().trim().isEmpty()) {
+        if(subQuery == null || subQuery.isEmpty()) {
             throw new IllegalArgumentException("Builder Cannot Be Null Or Empty!");
         } else {
             final var compare = useNot ? "NOT EXISTS (" : "EXISTS (";
 
-            sql.append(sql.toString().contains("WHERE") ? useOr ? "OR " : "AND " : "WHERE ");
-            sql.append(compare).append(builder.toString().replace(";", "")).append(") ");
+            builder.appendWhereKeyword(useOr);
+            sql.append(compare);
+            builder.appendSubQuery(subQuery);
+            sql.append(") ");
         }
     }
 
     private void assertSQLIsNotEmpty() {
-        if(sql.toString().trim().isEmpty()) {
+        if(builder.isEmpty()) {
             throw new IllegalStateException("Statement Empty, Please Add Statement!");
         }
     }
@@ -7,6 +7,7 @@ import com.jgcomptech.tools.databasetools.jdbc.DatabaseType;
 import org.junit.Test;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 
 import static org.junit.Assert.*;
 
@@ -19,9 +20,14 @@ public class UserManagerTest {
             userManager.createUser("jlgager", "1234", UserRoleManager.SystemUserRoles.EDITOR);
             userManager.getUser("jlgager");
             assertTrue(userManager.userExists("jlgager"));
+            assertTrue(userManager.userExists("JLGager"));
             assertTrue(userManager.getUsernameList().contains("jlgager"));
             assertTrue(CollectionUtils.doesItemExistInCollection(userManager.getUsersList(),
                     u -> u.getUsername().equals("jlgager")));
+            assertTrue(CollectionUtils.doesItemExistInCollection(userManager.getUsersPage(null, 10),
+                    u -> u.getUsername().equals("jlgager")));
+            assertTrue(userManager.getUsersPage("jlgager", 10).stream()
+                    .allMatch(u -> u.getUsername().compareTo("jlgager") > 0));
             assertTrue(userManager.setPassword("jlgager", "1234"));
             assertTrue(userManager.checkPasswordMatches("jlgager", "1234"));
             assertTrue(userManager.setUserRole("jlgager", UserRoleManager.SystemUserRoles.ADMIN));
@@ -133,4 +139,22 @@ public class UserManagerTest {
             assertTrue(userManager.getSessionManager().logoutUser(null, false));
         } catch (final SQLException ignored) { }
     }
-}
\ No newline at end of file
+
+    /** Tests that users can be created and their password expiration changed on each database type. */
+    @Test
+    public void testUserDatesOnEachDatabase() throws SQLException {
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:userdatestest", type)) {
+                final var userManager = new UserManager(db);
+                assertTrue(type.name(), userManager.createUser("jlgager", "1234",
+                        UserRoleManager.SystemUserRoles.EDITOR));
+                final var expiration = LocalDateTime.of(2030, 1, 2, 3, 4, 5);
+                assertTrue(type.name(), userManager.setPasswordExpirationDate("jlgager", expiration));
+                assertEquals(type.name(), expiration, userManager.getUser("jlgager").getPasswordExpirationDate());
+                assertTrue(type.name(), userManager.disablePasswordExpiration("jlgager"));
+                assertTrue(type.name(), userManager.getUser("jlgager").getPasswordExpirationDate()
+                        .isAfter(LocalDateTime.now().plusYears(999)));
+            }
+        }
+    }
+}
@@ -0,0 +1,1055 @@
+package com.jgcomptech.tools.databasetools.jdbc;
+
+import com.jgcomptech.tools.databasetools.jdbc.builders.ColumnBuilder;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class DatabaseTest {
+    /** Tests the pooled connection mode of the {@link Database} class. */
+    @Test
+    public void testPooledConnection() throws Exception {
+        final var poolSettings = new ConnectionPoolSettings().setMaxTotal(4).setValidationQuery("SELECT 1");
+        try(final var db = new Database("mem:pooltest", "", "", DatabaseType.H2, poolSettings)) {
+            assertTrue(db.getConnection().isPooled());
+            //The database keeps a copy of the settings
+            poolSettings.setMaxTotal(1).setReadWriteSplit(true).setThreadConfined(true);
+            assertEquals(4, db.getConnection().getMaxConnections());
+            assertFalse(db.getConnection().isReadWriteSplit());
+            assertFalse(db.getConnection().isThreadConfined());
+            db.getSettings().createTable();
+
+            final var executor = Executors.newFixedThreadPool(8);
+            try {
+                final var tasks = new ArrayList<Callable<Boolean>>();
+                for(var i = 0; i < 32; i++) {
+                    final var name = "setting" + i;
+                    tasks.add(() -> db.getSettings().setValue(name, name)
+                            && db.getSettings().getValue(name).equals(name));
+                }
+                for(final Future<Boolean> result : executor.invokeAll(tasks)) assertTrue(result.get());
+            } finally {
+                executor.shutdown();
+            }
+
+            assertEquals(32, db.getSettings().getSettingsList().size());
+            assertEquals(0, db.getConnection().getNumActive());
+        }
+    }
+
+    /** Tests the {@link StatementCache} class. */
+    @Test
+    public void testStatementCache() throws SQLException {
+        try(final var db = new Database("mem:cachetest", "", "", DatabaseType.H2,
+                new ConnectionPoolSettings().setMaxTotal(2))) {
+            db.getSettings().createTable();
+            db.getConnection().setStatementCacheSize(16);
+            final var cache = db.getConnection().getStatementCache();
+            assertTrue(cache.isEnabled());
+
+            db.getSettings().setValue("name", "value");
+            cache.resetStatistics();
+            for(var i = 0; i < 10; i++) assertEquals("value", db.getSettings().getValue("name"));
+            assertTrue(cache.getHits() > cache.getMisses());
+            assertTrue(cache.size() > 0);
+            assertEquals(0, db.getConnection().getNumActive());
+
+            db.getConnection().setStatementCacheSize(0);
+            assertEquals(0, cache.size());
+        }
+    }
+
+    /** Tests the bind parameter mode of the sql builders. */
+    @Test
+    public void testBindParameters() throws SQLException {
+        try(final var db = new Database("mem:bindtest", DatabaseType.H2)) {
+            db.getSettings().createTable();
+            db.getSettings().setValue("o'brien", "1");
+
+            final var query = TypedStatement.newQuery().useBindParameters()
+                    .SELECT("Value").FROM("Settings").WHERE("Name", "o'brien");
+            assertEquals("SELECT Value FROM Settings WHERE Name = ?;", query.toString());
+            assertEquals(List.of("o'brien"), query.getParameters());
+            try(final var rs = query.buildAndExecute(db)) {
+                assertTrue(rs.next());
+                assertEquals("1", rs.getString("Value"));
+            }
+
+            final var inline = TypedStatement.newQuery()
+                    .SELECT("Value").FROM("Settings").WHERE("Name", "o'brien");
+            assertEquals("SELECT Value FROM Settings WHERE Name = 'o''brien';", inline.toString());
+            assertEquals(1, inline.buildExecuteAndGetNumRows(db));
+
+            final var update = TypedStatement.newUpdate().useBindParameters()
+                    .UPDATE("Settings").SET("Value", "2").WHERE_IN("Name", "a", "o'brien");
+            assertEquals("UPDATE Settings SET Value = ? WHERE Name IN (?, ?);", update.toString());
+            assertEquals(1, update.buildAndUpdate(db));
+            assertEquals("2", db.getSettings().getValue("o'brien"));
+        }
+    }
+
+    /** Tests that a database without pool settings shares a single connection. */
+    @Test
+    public void testSingleConnection() throws SQLException {
+        try(final var db = new Database("mem:singletest", DatabaseType.H2)) {
+            assertFalse(db.getConnection().isPooled());
+            assertSame(db.getConnection().getObject(), db.getConnection().acquire());
+
+            db.getSettings().createTable();
+            db.getConnection().setStatementCacheSize(16);
+            assertTrue(db.getSettings().setValue("name", "value"));
+            assertTrue(db.getSettings().setValue("name", "value2"));
+            assertEquals("value2", db.getSettings().getValue("name"));
+            assertTrue(db.getConnection().getStatementCache().getHits() > 0);
+        }
+    }
+
+    /** Tests the batch insert mode of the {@link TypedStatement} class. */
+    @Test
+    public void testBatchInsert() throws SQLException {
+        try(final var db = new Database("mem:batchtest", DatabaseType.H2)) {
+            db.getSettings().createTable();
+            try(final var batch = TypedStatement.newInsert()
+                    .INSERT_INTO("Settings", "Name", "Value").buildBatch(db, 4)) {
+                assertTrue(batch.isBatch());
+                for(var i = 0; i < 10; i++) batch.addBatch("name" + i, i);
+                assertArrayEquals(new int[] {4, 4}, batch.getBatchCounts());
+                assertArrayEquals(new int[] {4, 4, 2}, batch.executeBatch());
+            }
+            assertTrue(db.getConnection().getObject().getAutoCommit());
+            assertEquals(10, db.getSettings().getSettingsList().size());
+            assertEquals("9", db.getSettings().getValue("name9"));
+
+            final var insert = TypedStatement.newInsert().useBindParameters()
+                    .INSERT_INTO("Settings", "Name", "Value").VALUES("a", "1").VALUES("b", "2");
+            assertEquals("INSERT INTO Settings (Name, Value) VALUES (?, ?), (?, ?);", insert.toString());
+            assertEquals(2, insert.buildAndInsert(db));
+        }
+    }
+
+    /** Tests the streaming mode of the {@link com.jgcomptech.tools.databasetools.jdbc.builders.QueryBuilder}. */
+    @Test
+    public void testStream() throws SQLException {
+        try(final var db = new Database("mem:streamtest", "", "", DatabaseType.H2,
+                new ConnectionPoolSettings().setMaxTotal(2))) {
+            db.getSettings().createTable();
+            try(final var batch = TypedStatement.newInsert()
+                    .INSERT_INTO("Settings", "Name", "Value").buildBatch(db, 100)) {
+                for(var i = 0; i < 1000; i++) batch.addBatch("name" + i, i);
+            }
+
+            try(final var values = TypedStatement.newQuery().SELECT("Value").FROM("Settings")
+                    .stream(db, rs -> rs.getInt("Value"), 50)) {
+                assertEquals(499500, values.mapToInt(Integer::intValue).sum());
+            }
+            try(final var names = TypedStatement.newQuery().SELECT("Name").FROM("Settings")
+                    .stream(db, rs -> rs.getString("Name"))) {
+                assertEquals(List.of("name0", "name1"), names.limit(2).collect(Collectors.toList()));
+            }
+            assertEquals(0, db.getConnection().getNumActive());
+        }
+    }
+
+    /**
+     * Tests the count and exists pushdown of the {@link com.jgcomptech.tools.databasetools.jdbc.builders.QueryBuilder}.
+     */
+    @Test
+    public void testCountPushdown() throws SQLException {
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:counttest", type)) {
+                db.getSettings().createTable();
+                for(var i = 0; i < 20; i++) db.getSettings().setValue("name" + i, String.valueOf(i % 2));
+
+                final var query = TypedStatement.newQuery().useBindParameters()
+                        .SELECT("Name").FROM("Settings").WHERE("Value", "1");
+                assertEquals(10, query.count(db));
+                assertEquals(10, query.buildExecuteAndGetNumRows(db));
+                assertTrue(query.existsAny(db));
+                assertFalse(TypedStatement.newQuery().useBindParameters()
+                        .SELECT("Name").FROM("Settings").WHERE("Value", "2").existsAny(db));
+                assertTrue(db.getSettings().exists("name5"));
+                try {
+                    TypedStatement.newQuery().SELECT("Name").FROM("Missing").buildExecuteAndGetNumRows(db);
+                    fail("Expected SQLException on " + type);
+                } catch(final SQLException ignored) { }
+            }
+        }
+    }
+
+    /** Tests the schema cache of the {@link Database.Info} class. */
+    @Test
+    public void testSchemaCache() throws SQLException {
+        try(final var db = new Database("mem:schematest", DatabaseType.H2)) {
+            final var info = db.getInfo();
+            assertFalse(info.tableExists("Settings"));
+            db.getSettings().createTable();
+            assertTrue(info.tableExists("settings"));
+            assertTrue(info.columnExists("Settings", "value"));
+            assertEquals(3, info.getColumnsList("Settings").size());
+
+            TypedStatement.newIndex().CREATE("SettingsValueIndex", "Settings", db)
+                    .addColumn("Value").build().executeCreate();
+            assertTrue(info.indexExists("Settings", "SettingsValueIndex"));
+            assertFalse(TypedStatement.newIndex().CREATE("SettingsValueIndex", "Settings", db)
+                    .addColumn("Value").buildAndCreate());
+
+            db.getTasks().executeUpdate("CREATE TABLE Other (Id INT)");
+            assertFalse(info.tableExists("Other"));
+            info.refresh();
+            assertTrue(info.tableExists("Other"));
+        }
+    }
+
+    /** Tests the cache of the {@link Database.Settings} class. */
+    @Test
+    public void testSettingsCache() throws Exception {
+        try(final var db = new Database("mem:settingscachetest", DatabaseType.H2)) {
+            final var settings = db.getSettings();
+            settings.createTable();
+            settings.setValue("existing", "1");
+            settings.enableCache(50, TimeUnit.MILLISECONDS);
+            assertTrue(settings.isCacheEnabled());
+
+            db.getConnection().setStatementCacheSize(16);
+            final var cache = db.getConnection().getStatementCache();
+            assertEquals("1", settings.getValue("Existing"));
+            assertEquals("", settings.getValue("missing"));
+            assertEquals(0, cache.getHits() + cache.getMisses());
+
+            assertTrue(settings.setValue("existing", "2"));
+            assertTrue(settings.setValue("new", "3"));
+            assertEquals("2", settings.getValue("existing"));
+            assertTrue(settings.exists("new"));
+
+            db.getTasks().executeUpdate("UPDATE Settings SET Value = '4' WHERE Name = 'new'");
+            Thread.sleep(500);
+            assertEquals("4", settings.getValue("new"));
+
+            settings.disableCache();
+            assertFalse(settings.isCacheEnabled());
+            assertEquals(2, settings.getSettingsList().size());
+        }
+    }
+
+    /** Tests that a running settings cache reload neither re-enables the cache nor loses concurrent writes. */
+    @Test
+    public void testSettingsCacheRefreshRace() throws Exception {
+        try(final var db = new Database("mem:settingsracetest", DatabaseType.H2)) {
+            final var settings = db.getSettings();
+            settings.createTable();
+            settings.setValue("name", "1");
+            Thread refresher;
+            synchronized(settings) {
+                settings.enableCache(200, TimeUnit.MILLISECONDS);
+                refresher = awaitBlockedRefresh("settingsracetest");
+                settings.setValue("name", "2");
+            }
+            while(refresher.getState() == Thread.State.BLOCKED) Thread.sleep(1);
+            assertEquals("2", settings.getValue("name"));
+
+            synchronized(settings) {
+                refresher = awaitBlockedRefresh("settingsracetest");
+                settings.disableCache();
+            }
+            refresher.join(5000);
+            assertFalse(settings.isCacheEnabled());
+        }
+    }
+
+    /** Waits until the settings refresh thread has loaded a snapshot and is waiting to store it. */
+    private static Thread awaitBlockedRefresh(final String dbName) throws InterruptedException {
+        for(var i = 0; i < 500; i++) {
+            final var refresher = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("Settings-Refresh-"))
+                    .filter(thread -> thread.getName().endsWith(dbName))
+                    .filter(thread -> thread.getState() == Thread.State.BLOCKED)
+                    .findFirst();
+            if(refresher.isPresent()) return refresher.get();
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Settings Refresh Did Not Start!");
+    }
+
+    /** Tests the {@link com.jgcomptech.tools.databasetools.jdbc.builders.UpsertBuilder} on each database type. */
+    @Test
+    public void testUpsert() throws SQLException {
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:upserttest", type)) {
+                db.getSettings().createTable();
+                for(final var value : new String[] {"1", "2"}) {
+                    final var upsert = TypedStatement.newUpsert().useBindParameters()
+                            .UPSERT_INTO("Settings", db, "Name", "Value").KEY("Name").VALUES("name", value);
+                    try(final var stmt = upsert.build(db)) {
+                        assertEquals(1, stmt.executeUpsert());
+                    }
+                }
+                assertEquals(1, db.getSettings().getSettingsList().size());
+                assertEquals("2", db.getSettings().getValue("name"));
+                assertTrue(db.getSettings().setValue("name", "3"));
+                assertEquals("3", db.getSettings().getValue("name"));
+            }
+        }
+    }
+
+    /** Tests the {@link AsyncDatabase} class. */
+    @Test
+    public void testAsync() throws Exception {
+        try(final var db = new Database("mem:asynctest", "", "", DatabaseType.H2,
+                new ConnectionPoolSettings().setMaxTotal(2))) {
+            db.getSettings().createTable();
+            final var async = db.getAsync();
+            final var futures = new ArrayList<CompletableFuture<Integer>>();
+            for(var i = 0; i < 8; i++) {
+                futures.add(async.upsert(TypedStatement.newUpsert().useBindParameters()
+                        .UPSERT_INTO("Settings", db, "Name", "Value").KEY("Name").VALUES("name" + i, i)));
+            }
+            for(final var future : futures) assertEquals(1, (int) future.get());
+            assertEquals(8L, (long) async.count(TypedStatement.newQuery().SELECT_ALL().FROM("Settings")).get());
+            assertEquals(List.of("0"), async.query(TypedStatement.newQuery().useBindParameters()
+                    .SELECT("Value").FROM("Settings").WHERE("Name", "name0"), rs -> rs.getString(1)).get());
+
+            final var release = new CountDownLatch(1);
+            try(final var bounded = new AsyncDatabase(db, null, 0)) {
+                final var first = bounded.submit(d -> await(release));
+                final var second = bounded.submit(d -> await(release));
+                final var rejected = bounded.submit(d -> true);
+                assertTrue(rejected.isCompletedExceptionally());
+                release.countDown();
+                assertTrue(first.get() && second.get());
+                assertEquals(0, bounded.getPendingCount());
+            }
+        }
+    }
+
+    /** Tests the {@link Transaction} class. */
+    @Test
+    public void testTransaction() throws SQLException {
+        try(final var db = new Database("mem:transactiontest", "", "", DatabaseType.H2,
+                new ConnectionPoolSettings().setMaxTotal(2))) {
+            db.getSettings().createTable();
+            try(final var tx = db.beginTransaction(java.sql.Connection.TRANSACTION_SERIALIZABLE)) {
+                assertSame(tx, db.getConnection().getTransaction());
+                assertSame(tx.getConnection(), db.getConnection().acquire());
+                assertEquals(java.sql.Connection.TRANSACTION_SERIALIZABLE, tx.getIsolationLevel());
+                db.getSettings().setValue("first", "1");
+                db.getSettings().setValue("second", "2");
+                assertEquals("2", db.getSettings().getValue("second"));
+            }
+            assertNull(db.getConnection().getTransaction());
+            assertFalse(db.getSettings().exists("first"));
+
+            try(final var tx = db.beginTransaction()) {
+                db.getSettings().setValue("first", "1");
+                assertEquals(1, TypedStatement.newInsert().INSERT_INTO("Settings", "Name", "Value")
+                        .VALUES("second", "2").buildAndInsert(db));
+                tx.commit();
+                assertFalse(tx.isActive());
+            }
+            assertEquals(2, db.getSettings().getSettingsList().size());
+            assertEquals(0, db.getConnection().getNumActive());
+        }
+    }
+
+    /** Tests the LIMIT, OFFSET and keyset pagination of the query builder on each database type. */
+    @Test
+    public void testPagination() throws SQLException {
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:pagetest", type)) {
+                db.getSettings().createTable();
+                for(var i = 0; i < 10; i++) db.getSettings().setValue("name" + i, String.valueOf(i));
+
+                final var page = TypedStatement.newQuery().SELECT("Name").FROM("Settings")
+                        .ORDER_BY("Name").LIMIT(3).OFFSET(2);
+                assertEquals("SELECT Name FROM Settings ORDER BY Name LIMIT 3 OFFSET 2;", page.toString());
+                try(final var names = page.stream(db, rs -> rs.getString(1))) {
+                    assertEquals(List.of("name2", "name3", "name4"), names.collect(Collectors.toList()));
+                }
+                assertEquals(3, page.count(db));
+
+                //Sub queries are rendered for the database type, HyperSQL has no LIMIT -1
+                final var skipped = TypedStatement.newQuery().SELECT("Name").FROM("Settings")
+                        .ORDER_BY("Name").OFFSET(8);
+                assertEquals(type.name(), 2, skipped.count(db));
+                assertTrue(skipped.existsAny(db));
+                assertFalse(TypedStatement.newQuery().SELECT("Name").FROM("Settings").OFFSET(20).existsAny(db));
+                assertEquals(10, TypedStatement.newQuery().SELECT("Name").FROM("Settings")
+                        .WHERE_EXISTS(skipped).count(db));
+
+                final var seek = TypedStatement.newQuery().useBindParameters().SELECT("Name").FROM("Settings")
+                        .pageAfter("Name", "name7", 5);
+                try(final var names = seek.stream(db, rs -> rs.getString(1))) {
+                    assertEquals(List.of("name8", "name9"), names.collect(Collectors.toList()));
+                }
+            }
+        }
+    }
+
+    /** Tests that the builders track the clauses of the statement instead of scanning the sql text. */
+    @Test
+    public void testBuilderClauses() {
+        final var sub = TypedStatement.newQuery().SELECT("Name").FROM("Settings").WHERE("Value", "1");
+        final var count = TypedStatement.newQuery().SELECT_COUNT_ALL_FROM(sub).WHERE("FinalCount", "0");
+        assertEquals("SELECT COUNT(*) AS FinalCount FROM (SELECT Name FROM Settings WHERE Value = '1') "
+                + "WHERE FinalCount = '0';", count.toString());
+
+        final var sorted = TypedStatement.newQuery().SELECT_ALL().FROM("Settings")
+                .ORDER_BY("Value", true).ORDER_BY("Name");
+        assertEquals("SELECT * FROM Settings ORDER BY Value DESC, Name;", sorted.toString());
+
+        final var page = TypedStatement.newQuery().useBindParameters().SELECT("Name").FROM("Settings")
+                .WHERE("Value", "1").WHERE_OR("Value", "2").pageAfter("Name", "name3", 2);
+        assertEquals("SELECT Name FROM Settings WHERE (Value = ? OR Value = ?) AND Name > ? "
+                + "ORDER BY Name ASC LIMIT 2;", page.toString());
+        assertEquals(List.of("1", "2", "name3"), page.getParameters());
+
+        final var update = TypedStatement.newUpdate().UPDATE("Settings").SET("Value", "SET ")
+                .SET("Name", "WHERE").WHERE("Name", "WHERE");
+        assertEquals("UPDATE Settings SET Value = 'SET ', Name = 'WHERE' WHERE Name = 'WHERE';", update.toString());
+    }
+
+    /** Tests the per shape statement statistics and the slow statement log. */
+    @Test
+    public void testStatementStats() throws SQLException {
+        assertEquals("SELECT * FROM T WHERE A = ? AND B IN (?) AND C2 = ?",
+                StatementStats.normalize("SELECT * FROM T WHERE A = 'it''s' AND B IN (1, 2.5, 3) AND C2 = 42"));
+        assertEquals("INSERT INTO T (A, B) VALUES (?)",
+                StatementStats.normalize("INSERT INTO T (A, B) VALUES ('a', 1), ('b', 2)"));
+
+        final var slow = new ArrayList<String>();
+        final var handler = new Handler() {
+            @Override public void publish(final LogRecord record) { slow.add(record.getMessage()); }
+            @Override public void flush() { }
+            @Override public void close() { }
+        };
+        final var logger = Logger.getLogger("com.jgcomptech.tools.databasetools.jdbc.SlowStatement");
+        logger.addHandler(handler);
+        try(final var db = new Database("mem:statstest", DatabaseType.H2)) {
+            final var stats = db.getConnection().getStatementStats();
+            assertFalse(stats.isEnabled());
+            db.getSettings().createTable();
+            stats.setEnabled(true);
+
+            for(var i = 0; i < 10; i++) {
+                TypedStatement.newInsert().INSERT_INTO("Settings", "Name", "Value")
+                        .VALUES("name" + i, String.valueOf(i)).buildAndInsert(db);
+            }
+            final var insert = stats.getShape("INSERT INTO Settings (Name, Value) VALUES ('x', 'y');");
+            assertEquals(10, insert.getCount());
+            assertEquals(10, insert.getTotalRows());
+            assertTrue(insert.getP50() <= insert.getP99());
+            assertTrue(insert.getP99() <= insert.getMaxTime());
+
+            final var query = TypedStatement.newQuery().SELECT("Name").FROM("Settings");
+            try(final var names = query.stream(db, rs -> rs.getString(1))) {
+                assertEquals(10, names.count());
+            }
+            assertEquals(10, stats.getShape(query.toString()).getTotalRows());
+            assertEquals(1, db.getTasks().executeUpdate("DELETE FROM Settings WHERE Name = 'name0'"));
+            assertEquals(1, stats.getShape("DELETE FROM Settings WHERE Name = ?").getTotalRows());
+            assertEquals(3, stats.getShapes().size());
+            assertTrue(slow.isEmpty());
+
+            stats.setSlowThreshold(0, TimeUnit.MILLISECONDS);
+            db.getSettings().getValue("name1");
+            final var logged = slow.size();
+            assertTrue(logged > 0);
+            assertTrue(slow.get(0).startsWith("Slow Statement ("));
+
+            stats.reset();
+            stats.setEnabled(false);
+            db.getSettings().getValue("name1");
+            assertTrue(stats.getShapes().isEmpty());
+            assertEquals(logged, slow.size());
+        } finally {
+            logger.removeHandler(handler);
+        }
+    }
+
+    private static boolean await(final CountDownLatch latch) throws SQLException {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch(final InterruptedException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    /** Tests the {@link QueryCache} class. */
+    @Test
+    public void testQueryCache() throws Exception {
+        try(final var db = new Database("mem:querycachetest", DatabaseType.H2)) {
+            db.getSettings().createTable();
+            db.getTasks().executeUpdate("CREATE TABLE Other (Id INT)");
+            db.getSettings().setValue("name", "1");
+            final var cache = db.getQueryCache();
+            assertFalse(cache.isEnabled());
+            final var names = TypedStatement.newQuery().useBindParameters().useCache()
+                    .SELECT("Name").FROM("Settings").WHERE("Value", "1");
+            final var other = TypedStatement.newQuery().useCache().SELECT("Id").FROM("Other");
+            assertEquals(List.of("name"), names.list(db, rs -> rs.getString(1)));
+            assertEquals(0, cache.size());
+
+            cache.enable(10);
+            assertEquals(1, names.count(db));
+            assertEquals(1, names.count(db));
+            assertEquals(0, other.count(db));
+            assertEquals(1, cache.getHits());
+            assertEquals(2, cache.getMisses());
+            assertTrue(db.getSettings().exists("name"));
+            assertTrue(db.getSettings().exists("name"));
+            assertEquals(2, cache.getHits());
+
+            TypedStatement.newInsert().INSERT_INTO("Settings", "Name", "Value").VALUES("second", "1")
+                    .buildAndInsert(db);
+            assertEquals(1, cache.size());
+            assertEquals(2, names.count(db));
+            assertEquals(0, other.count(db));
+            assertEquals(3, cache.getHits());
+
+            TypedStatement.newUpdate().UPDATE("Settings").SET("Value", "2").WHERE("Name", "second")
+                    .buildAndUpdate(db);
+            assertEquals(1, names.count(db));
+            TypedStatement.newUpsert().UPSERT_INTO("Settings", db, "Name", "Value").KEY("Name")
+                    .VALUES("second", "1").buildAndUpsert(db);
+            assertEquals(2, names.count(db));
+            TypedStatement.newDelete().DELETE_FROM("Settings").WHERE("Name", "second").buildAndDelete(db);
+            assertEquals(1, names.count(db));
+            db.getTasks().executeUpdate("INSERT INTO Other (Id) VALUES (1)");
+            assertEquals(0, cache.size());
+            assertEquals(1, other.count(db));
+
+            try(final var tx = db.beginTransaction()) {
+                db.getSettings().setValue("third", "1");
+                assertEquals(2, names.count(db));
+                assertFalse(cache.toString().isEmpty());
+                tx.commit();
+            }
+            assertEquals(2, names.count(db));
+            try(final var tx = db.beginTransaction()) {
+                db.getSettings().setValue("fourth", "1");
+            }
+            assertEquals(2, names.count(db));
+
+            cache.resetStatistics();
+            cache.enable(1);
+            assertEquals(1, cache.size());
+            assertEquals(1, other.count(db));
+            assertEquals(1, cache.getEvictions());
+
+            cache.enable(10, 1, TimeUnit.MILLISECONDS);
+            names.count(db);
+            Thread.sleep(5);
+            names.count(db);
+            assertEquals(0, cache.getHits());
+
+            cache.disable();
+            assertEquals(0, cache.size());
+            names.count(db);
+            assertEquals(0, cache.size());
+        }
+    }
+
+    /** Tests the {@link CsvTransfer} class on each database type. */
+    @Test
+    public void testCsvTransfer() throws Exception {
+        final var csv = "Name,Value\r\nplain,1\r\n\"with, comma\",\"say \"\"hi\"\"\"\r\n"
+                + "\"multi\nline\",\r\nempty,\"\"\r\n";
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:csvtest", type)) {
+                db.getTasks().executeUpdate("CREATE TABLE Items (Name VARCHAR(50), Value VARCHAR(50))");
+                final var transfer = new CsvTransfer(db).setBatchSize(2);
+                final var imported = transfer.importCsv(new StringReader(csv), "Items");
+                assertEquals(4, imported.getRows());
+                assertTrue(imported.getRowsPerSecond() > 0);
+                final var values = TypedStatement.newQuery().SELECT("Value").FROM("Items").ORDER_BY("Name")
+                        .list(db, rs -> rs.getString(1));
+                assertEquals(Arrays.asList("", null, "1", "say \"hi\""), values);
+
+                final var out = new StringWriter();
+                final var exported = transfer.setFetchSize(2).exportCsv(TypedStatement.newQuery()
+                        .SELECT("Name", "Value").FROM("Items").ORDER_BY("Name"), out);
+                assertEquals(4, exported.getRows());
+                assertEquals("Name,Value\r\nempty,\"\"\r\n\"multi\nline\",\r\nplain,1\r\n"
+                        + "\"with, comma\",\"say \"\"hi\"\"\"\r\n", out.toString().replace("NAME,VALUE", "Name,Value"));
+
+                db.getTasks().executeUpdate("DELETE FROM Items");
+                final var rows = new StringWriter();
+                transfer.setHeader(false).setDelimiter(';').exportCsv("Items", rows);
+                assertEquals("", rows.toString());
+                assertEquals(2, transfer.importCsv(new StringReader("a;1\nb;2\n"), "Items", "Name", "Value")
+                        .getRows());
+                assertEquals(2, TypedStatement.newQuery().SELECT_ALL().FROM("Items").count(db));
+                try {
+                    transfer.importCsv(new StringReader("c;3;x\n"), "Items", "Name", "Value");
+                    fail("Expected IllegalArgumentException");
+                } catch(final IllegalArgumentException e) {
+                    assertEquals("Record 1 Has 3 Fields But 2 Were Expected!", e.getMessage());
+                }
+                //The first batch is kept and the pending row before the malformed record is discarded
+                try {
+                    transfer.importCsv(new StringReader("c;3\nd;4\ne;5\nf;6;x\n"), "Items", "Name", "Value");
+                    fail("Expected IllegalArgumentException");
+                } catch(final IllegalArgumentException e) {
+                    assertEquals("Record 4 Has 3 Fields But 2 Were Expected!", e.getMessage());
+                }
+                assertEquals(4, TypedStatement.newQuery().SELECT_ALL().FROM("Items").count(db));
+            }
+        }
+    }
+
+    /** Tests the read/write split of the pooled connection mode. */
+    @Test
+    public void testReadWriteSplit() throws Exception {
+        try(final var db = new Database("mem:splittest", "", "", DatabaseType.H2,
+                new ConnectionPoolSettings().setMaxTotal(2).setMaxWaitMillis(200).setReadWriteSplit(true))) {
+            assertTrue(db.getConnection().isReadWriteSplit());
+            db.getSettings().createTable();
+            db.getSettings().setValue("first", "1");
+            final var executor = Executors.newSingleThreadExecutor();
+            try(final var batch = TypedStatement.newInsert()
+                    .INSERT_INTO("Settings", "Name", "Value").buildBatch(db, 10)) {
+                assertSame(db.getConnection().getObject(), batch.getStatement().getConnection());
+                batch.addBatch("second", "2");
+                //The thread that holds the writer can keep writing while other threads can only read
+                assertTrue(db.getSettings().setValue("third", "3"));
+                assertEquals("1", executor.submit(() -> db.getSettings().getValue("first")).get());
+                final Future<Boolean> write = executor.submit(() -> db.getSettings().setValue("fourth", "4"));
+                try {
+                    write.get();
+                    fail("Expected SQLException");
+                } catch(final ExecutionException e) {
+                    assertEquals("Timed Out Waiting For The Writer Connection!", e.getCause().getMessage());
+                }
+            }
+            assertTrue(executor.submit(() -> db.getSettings().setValue("fourth", "4")).get());
+            executor.shutdown();
+
+            try(final var tx = db.beginTransaction()) {
+                assertSame(db.getConnection().getObject(), tx.getConnection());
+                db.getSettings().setValue("fifth", "5");
+                tx.commit();
+            }
+            assertEquals(5, db.getSettings().getSettingsList().size());
+            assertEquals(0, db.getConnection().getNumActive());
+        }
+    }
+
+    /** Tests the thread-confined connections of the pooled connection mode. */
+    @Test
+    public void testThreadConfined() throws Exception {
+        try(final var db = new Database("mem:confinedtest", "", "", DatabaseType.H2,
+                new ConnectionPoolSettings().setMaxTotal(4).setThreadConfined(true))) {
+            final var connection = db.getConnection();
+            assertTrue(connection.isThreadConfined());
+            db.getSettings().createTable();
+
+            try(final var scope = connection.openScope()) {
+                final var first = connection.acquire();
+                connection.release(first);
+                assertSame(first, connection.acquire());
+                try(final var nested = connection.openScope()) {
+                    db.getSettings().setValue("name", "value");
+                }
+                assertEquals(1, connection.getNumActive());
+                try(final var tx = db.beginTransaction()) {
+                    assertSame(first, tx.getConnection());
+                    db.getSettings().setValue("name", "value2");
+                    tx.commit();
+                }
+                assertSame(first, connection.acquire());
+                assertTrue(scope.isOpen());
+            }
+            assertEquals(0, connection.getNumActive());
+
+            final var executor = Executors.newFixedThreadPool(3);
+            try {
+                final var tasks = new ArrayList<Callable<java.sql.Connection>>();
+                for(var i = 0; i < 30; i++) {
+                    tasks.add(() -> {
+                        final var threadConnection = connection.acquire();
+                        assertEquals("value2", db.getSettings().getValue("name"));
+                        assertSame(threadConnection, connection.acquire());
+                        return threadConnection;
+                    });
+                }
+                final var connections = new ArrayList<java.sql.Connection>();
+                for(final var result : executor.invokeAll(tasks)) connections.add(result.get());
+                //Each worker thread kept a single connection for all of its tasks
+                assertTrue(connections.stream().distinct().count() <= 3);
+                assertEquals(connections.stream().distinct().count(), connection.getNumActive());
+
+                final var scope = executor.submit(connection::openScope).get();
+                try {
+                    scope.close();
+                    fail("Expected IllegalStateException");
+                } catch(final IllegalStateException e) {
+                    assertEquals("Scope Must Be Closed By The Thread That Opened It!", e.getMessage());
+                }
+            } finally {
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            }
+
+            //Each async operation runs in a scope, so its connection is returned when the operation ends
+            final var futures = new ArrayList<CompletableFuture<String>>();
+            for(var i = 0; i < 10; i++) {
+                futures.add(db.getAsync().submit(asyncDb -> asyncDb.getSettings().getValue("name")));
+            }
+            for(final var future : futures) assertEquals("value2", future.get());
+            assertEquals(0, connection.getNumActive());
+
+            //The connections of the terminated worker threads are returned when the next thread borrows one
+            final var reader = Executors.newSingleThreadExecutor();
+            try {
+                assertEquals("value2", reader.submit(() -> db.getSettings().getValue("name")).get());
+                assertEquals(1, connection.getNumActive());
+            } finally {
+                reader.shutdown();
+            }
+        }
+    }
+
+    /** Tests that the {@link PerformanceProfile} settings are applied on connect to each database type. */
+    @Test
+    public void testPerformanceProfile() throws Exception {
+        final var dir = Files.createTempDirectory("profiletest");
+        try {
+            for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+                final var info = new DatabaseConnectionInfo()
+                        .setPath(dir.resolve(type.name()).toString())
+                        .setDBType(type)
+                        .setPoolSettings(new ConnectionPoolSettings().setMaxTotal(2))
+                        .setPerformanceProfile(PerformanceProfile.BALANCED);
+                try(final var db = new Database(info)) {
+                    assertSame(PerformanceProfile.BALANCED, db.getConnection().getPerformanceProfile());
+                    db.getSettings().createTable();
+                    db.getSettings().setValue("name", "1");
+                    assertEquals("1", db.getSettings().getValue("name"));
+                    final String sql;
+                    final String expected;
+                    switch(type) {
+                        case H2:
+                            sql = "SELECT VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE NAME = 'WRITE_DELAY'";
+                            expected = "500";
+                            break;
+                        case HyperSQLDB:
+                            sql = "SELECT PROPERTY_VALUE FROM INFORMATION_SCHEMA.SYSTEM_PROPERTIES"
+                                    + " WHERE PROPERTY_NAME = 'hsqldb.tx'";
+                            expected = "mvcc";
+                            break;
+                        default:
+                            sql = "PRAGMA synchronous";
+                            expected = "1";
+                            try(final var rs = db.getTasks().executeQuery("PRAGMA journal_mode")) {
+                                assertTrue(rs.next());
+                                assertEquals("wal", rs.getString(1));
+                            }
+                    }
+                    try(final var rs = db.getTasks().executeQuery(sql)) {
+                        assertTrue(rs.next());
+                        assertEquals(expected, rs.getString(1));
+                    }
+                }
+            }
+        } finally {
+            try(final var files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /** Tests the {@link BeanRowMapper} class on each database type. */
+    @Test
+    public void testBeanRowMapper() throws SQLException {
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:mappertest", type)) {
+                db.getTasks().executeUpdate("CREATE TABLE Items (Item_Name VARCHAR(50), Amount INT,"
+                        + " Created TIMESTAMP, Kind VARCHAR(10), Ignored INT)");
+                db.getTasks().executeUpdate("INSERT INTO Items VALUES ('a', 1, '2018-01-02 03:04:05.000', 'SMALL', 0)");
+                db.getTasks().executeUpdate("INSERT INTO Items VALUES ('b', NULL, NULL, NULL, 0)");
+
+                final var query = TypedStatement.newQuery().SELECT_ALL().FROM("Items").ORDER_BY("Item_Name");
+                final var mapper = BeanRowMapper.of(Item.class);
+                assertSame(mapper, BeanRowMapper.of(Item.class));
+                final var items = query.list(db, mapper);
+                assertEquals(2, items.size());
+                assertEquals("a", items.get(0).itemName);
+                assertEquals(Integer.valueOf(1), items.get(0).amount);
+                assertEquals(LocalDateTime.of(2018, 1, 2, 3, 4, 5), items.get(0).created);
+                assertEquals(Kind.SMALL, items.get(0).kind);
+                assertNull(items.get(1).amount);
+                assertNull(items.get(1).created);
+                assertEquals(2, query.list(db, mapper).size());
+
+                final var values = BeanRowMapper.of(ItemValue.class, "item_name", "amount");
+                final var rows = TypedStatement.newQuery().SELECT("Amount", "Item_Name").FROM("Items")
+                        .ORDER_BY("Item_Name").list(db, values);
+                assertEquals("a", rows.get(0).name);
+                assertEquals(1, rows.get(0).amount);
+                assertEquals(0, rows.get(1).amount);
+                try {
+                    TypedStatement.newQuery().SELECT("Amount").FROM("Items").list(db, values);
+                    fail("Expected SQLException");
+                } catch(final SQLException e) {
+                    assertEquals("Column \"item_name\" Not Found!", e.getMessage());
+                }
+            }
+        }
+        try {
+            BeanRowMapper.of(ItemValue.class, "a", "b", "c");
+            fail("Expected IllegalArgumentException");
+        } catch(final IllegalArgumentException e) {
+            assertTrue(e.getMessage().endsWith("Has No Constructor With 3 Parameters!"));
+        }
+    }
+
+    /** Tests the generated key retrieval of the insert builder on each database type. */
+    @Test
+    public void testGeneratedKeys() throws SQLException {
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:keystest", type)) {
+                TypedStatement.newTable().CREATE("Items", db)
+                        .addColumn(new ColumnBuilder("Id", DataTypes.INTEGER).notNull().primaryKey().autoIncrement())
+                        .addColumn(new ColumnBuilder("Name", DataTypes.NVARCHAR, 50).notNull())
+                        .buildAndCreate();
+
+                final var first = TypedStatement.newInsert().useBindParameters()
+                        .INSERT_INTO("Items", "Name").VALUES("a").buildAndInsertReturningKeys(db);
+                assertEquals(1, first.length);
+                //HyperSQL starts identity columns at 0
+                final var k = first[0];
+                assertEquals(List.of(k), TypedStatement.newQuery().useBindParameters().SELECT("Id").FROM("Items")
+                        .WHERE("Name", "a").list(db, rs -> rs.getLong(1)));
+                final var insert = TypedStatement.newInsert().useBindParameters().returnGeneratedKeys()
+                        .INSERT_INTO("Items", "Name").VALUES("b").VALUES("c").build(db);
+                assertArrayEquals(new long[] {k + 1, k + 2}, insert.executeInsertReturningKeys());
+                assertEquals(List.of(k + 3), TypedStatement.newInsert().returnGeneratedKeys()
+                        .INSERT_INTO("Items", "Name").VALUES("d").build(db)
+                        .executeInsertReturningKeys(rs -> rs.getLong(1)));
+
+                try(final var batch = TypedStatement.newInsert().returnGeneratedKeys()
+                        .INSERT_INTO("Items", "Name").buildBatch(db, 2)) {
+                    for(var i = 0; i < 5; i++) batch.addBatch("batch" + i);
+                    batch.executeBatch();
+                    assertArrayEquals(new long[] {k + 4, k + 5, k + 6, k + 7, k + 8}, batch.getGeneratedKeys());
+                }
+
+                final var plain = TypedStatement.newInsert().INSERT_INTO("Items", "Name").VALUES("e").build(db);
+                try {
+                    plain.executeInsertReturningKeys();
+                    fail("Expected IllegalStateException");
+                } catch(final IllegalStateException e) {
+                    assertEquals("Generated Keys Were Not Requested!", e.getMessage());
+                } finally {
+                    plain.close();
+                }
+            }
+        }
+    }
+
+    /** Tests the JOIN, GROUP BY and HAVING clauses of the query builder on each database type. */
+    @Test
+    public void testJoinGroupBy() throws SQLException {
+        final var query = TypedStatement.newQuery().SELECT("c.Region").COUNT("o.Id", "Orders")
+                .SUM("o.Amount", "Total").MAX("o.Amount", "Largest")
+                .FROM("Customers c").LEFT_JOIN("Orders o", "c.Id", "o.CustomerId")
+                .WHERE_IS_NOT_NULL("c.Region").GROUP_BY("c.Region").HAVING("COUNT(o.Id)", ">", 1)
+                .ORDER_BY("c.Region");
+        assertEquals("SELECT c.Region, COUNT(o.Id) AS Orders, SUM(o.Amount) AS Total, MAX(o.Amount) AS Largest "
+                + "FROM Customers c LEFT JOIN Orders o ON c.Id = o.CustomerId WHERE c.Region IS NOT NULL "
+                + "GROUP BY c.Region HAVING COUNT(o.Id) > 1 ORDER BY c.Region;", query.toString());
+        try {
+            TypedStatement.newQuery().SELECT_ALL().FROM("Customers").GROUP_BY("Region").WHERE("Region", "east");
+            fail("Expected IllegalStateException");
+        } catch(final IllegalStateException e) {
+            assertEquals("WHERE Must Be Added Before GROUP BY!", e.getMessage());
+        }
+
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:jointest", type)) {
+                db.getTasks().executeUpdate("CREATE TABLE Customers (Id INT PRIMARY KEY, Name VARCHAR(50),"
+                        + " Region VARCHAR(50))");
+                db.getTasks().executeUpdate("CREATE TABLE Orders (Id INT PRIMARY KEY, CustomerId INT, Amount INT)");
+                db.getTasks().executeUpdate("INSERT INTO Customers VALUES (1, 'a', 'east'), (2, 'b', 'east'),"
+                        + " (3, 'c', 'west'), (4, 'd', 'north')");
+                db.getTasks().executeUpdate("INSERT INTO Orders VALUES (1, 1, 10), (2, 1, 20), (3, 2, 30),"
+                        + " (4, 3, 40), (5, 3, 50)");
+
+                assertEquals(List.of("east:3:60:30", "west:2:90:50"), query.list(db,
+                        rs -> rs.getString("Region") + ':' + rs.getInt("Orders") + ':' + rs.getInt("Total")
+                                + ':' + rs.getInt("Largest")));
+
+                assertEquals(List.of("a:10", "a:20", "b:30", "c:40", "c:50"), TypedStatement.newQuery()
+                        .SELECT("c.Name", "o.Amount").FROM("Customers c").INNER_JOIN("Orders o", "c.Id", "o.CustomerId")
+                        .ORDER_BY("o.Id").list(db, rs -> rs.getString(1) + ':' + rs.getInt(2)));
+                assertEquals(List.of("d"), TypedStatement.newQuery().SELECT("c.Name").FROM("Customers c")
+                        .LEFT_JOIN("Orders o", "c.Id", "o.CustomerId").WHERE_IS_NULL("o.Id")
+                        .list(db, rs -> rs.getString(1)));
+                assertEquals(List.of("c"), TypedStatement.newQuery().useBindParameters().SELECT("c.Name")
+                        .FROM("Customers c").INNER_JOIN("Orders o", "c.Id", "o.CustomerId")
+                        .GROUP_BY("c.Name").HAVING("SUM(o.Amount)", ">=", 90).list(db, rs -> rs.getString(1)));
+            }
+        }
+    }
+
+    /** Tests the query timeouts and the cancellation of running statements on each database type. */
+    @Test
+    public void testQueryTimeoutAndCancel() throws Exception {
+        //A count over a cross join of a billion rows runs far longer than the test allows
+        final var slowQuery = TypedStatement.newQuery().COUNT("*", "Total").FROM("Numbers a, Numbers b, Numbers c");
+        final var executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+                try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:timeouttest", type)) {
+                    db.getTasks().executeUpdate("CREATE TABLE Numbers (N INT)");
+                    try(final var batch = TypedStatement.newInsert().INSERT_INTO("Numbers", "N").buildBatch(db, 1000)) {
+                        for(var i = 0; i < 1000; i++) batch.addBatch(i);
+                    }
+
+                    db.getConnection().setQueryTimeout(1);
+                    assertEquals(1, db.getConnection().getQueryTimeout());
+                    var start = System.nanoTime();
+                    try(final var rs = db.getTasks()
+                            .executeQuery("SELECT COUNT(*) FROM Numbers a, Numbers b, Numbers c")) {
+                        rs.next();
+                        fail("Expected SQLException on " + type);
+                    } catch(final SQLException e) {
+                        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20));
+                    }
+                    db.getConnection().setQueryTimeout(0);
+
+                    try(final var stmt = slowQuery.build(db)) {
+                        assertEquals(0, stmt.getQueryTimeout());
+                        //SQLite statements are only wrapped to enforce a timeout when one is set
+                        if(type == DatabaseType.SQLite) assertFalse(ManagedStatement.isWrapped(stmt.getStatement()));
+                        executor.schedule(() -> {
+                            stmt.cancel();
+                            return null;
+                        }, 200, TimeUnit.MILLISECONDS);
+                        start = System.nanoTime();
+                        try(final var rs = stmt.executeQuery()) {
+                            rs.next();
+                            fail("Expected SQLException on " + type);
+                        } catch(final SQLException e) {
+                            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20));
+                        }
+                    }
+
+                    //H2 and HyperSQL read every row in executeQuery, SQLite reads the rows while they are stepped
+                    if(type == DatabaseType.SQLite) {
+                        try(final var stmt = TypedStatement.newQuery().SELECT("a.N", "b.N", "c.N")
+                                .FROM("Numbers a, Numbers b, Numbers c").build(db).setQueryTimeout(1)) {
+                            assertEquals(1, stmt.getQueryTimeout());
+                            start = System.nanoTime();
+                            var rows = 0L;
+                            try(final var rs = stmt.executeQuery()) {
+                                while(rs.next()) rows++;
+                                fail("Expected SQLTimeoutException after " + rows + " rows");
+                            } catch(final SQLTimeoutException e) {
+                                assertTrue(rows > 0);
+                                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20));
+                            }
+                        }
+                    }
+
+                    try(final var rs = db.getTasks().executeQuery("SELECT COUNT(*) FROM Numbers", 5)) {
+                        assertTrue(rs.next());
+                        assertEquals(1000, rs.getInt(1));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Tests the {@link QueryPlan} class on each database type. */
+    @Test
+    public void testQueryPlan() throws SQLException {
+        for(final var type : new DatabaseType[] {DatabaseType.H2, DatabaseType.HyperSQLDB, DatabaseType.SQLite}) {
+            try(final var db = new Database(type == DatabaseType.SQLite ? ":memory:" : "mem:plantest", type)) {
+                db.getTasks().executeUpdate("CREATE TABLE Customers (Id INT PRIMARY KEY, Name VARCHAR(50),"
+                        + " Region VARCHAR(50))");
+                db.getTasks().executeUpdate("CREATE TABLE Orders (Id INT PRIMARY KEY, CustomerId INT, Amount INT)");
+                TypedStatement.newIndex().CREATE("IX_Orders_CustomerId", "Orders", db)
+                        .addColumn("CustomerId").buildAndCreate();
+
+                final var scan = TypedStatement.newQuery().useBindParameters().SELECT("Name").FROM("Customers")
+                        .WHERE("Region", "east").explain(db);
+                assertTrue(type + " " + scan, scan.hasFullScan());
+                assertEquals(List.of("CUSTOMERS"), scan.getFullScans());
+                scan.assertNoFullScan("customers");
+                try {
+                    scan.assertNoFullScan();
+                    fail("Expected AssertionError on " + type);
+                } catch(final AssertionError e) {
+                    assertTrue(e.getMessage().startsWith("Full Table Scan Of CUSTOMERS!"));
+                }
+
+                TypedStatement.newQuery().SELECT("Amount").FROM("Orders").WHERE("CustomerId", "3").explain(db)
+                        .assertNoFullScan().assertUsesIndex("IX_Orders_CustomerId");
+                final var join = TypedStatement.newQuery().useBindParameters().SELECT("c.Name", "o.Amount")
+                        .FROM("Customers c").INNER_JOIN("Orders o", "c.Id", "o.CustomerId")
+                        .WHERE("c.Id", "1").explain(db);
+                join.assertNoFullScan().assertUsesIndex("ix_orders_customerid");
+                assertEquals(2, join.getTableAccesses().size());
+
+                TypedStatement.newUpdate().UPDATE("Orders").SET("Amount", "1").WHERE("CustomerId", "3").explain(db)
+                        .assertUsesIndex("IX_Orders_CustomerId");
+                assertEquals(List.of("ORDERS"), TypedStatement.newDelete().useBindParameters().DELETE_FROM("Orders")
+                        .WHERE("Amount", "1").explain(db).getFullScans());
+            }
+        }
+    }
+
+    /** The kinds of items of the {@link #testBeanRowMapper} test. */
+    public enum Kind { SMALL, LARGE }
+
+    /** A mutable item of the {@link #testBeanRowMapper} test, the name is set through its field. */
+    public static final class Item {
+        private String itemName;
+        private Integer amount;
+        private LocalDateTime created;
+        private Kind kind;
+
+        public void setAmount(final Integer amount) { this.amount = amount; }
+
+        public void setCreated(final LocalDateTime created) { this.created = created; }
+
+        public void setKind(final Kind kind) { this.kind = kind; }
+    }
+
+    /** An immutable item of the {@link #testBeanRowMapper} test. */
+    public static final class ItemValue {
+        private final String name;
+        private final int amount;
+
+        public ItemValue(final String name, final int amount) {
+            this.name = name;
+            this.amount = amount;
+        }
+    }
+}